@@ -0,0 +1,39 @@
+package de.tum.cit.ase.maze.benchmark;
+
+import com.badlogic.gdx.Gdx;
+import de.tum.cit.ase.maze.MazeRunnerGame;
+
+import java.io.IOException;
+
+/**
+ * The AllocationBenchmark class measures how many bytes the game simulation allocates per tick.
+ * It runs the world ticks without input on all level maps with the HeadlessRunner
+ * and reports the allocated bytes per tick after a warm-up, which should be zero.
+ */
+public class AllocationBenchmark {
+
+    private static final String LEVEL_MAP_FORMAT = "maps/level-%d.properties";
+    private static final int MAX_LEVEL_INDEX = 6;
+
+    private static final int WARM_UP_TICKS = 5_000;
+    private static final int MEASURED_TICKS = 10_000;
+
+    // No controls, only the enemies and the other entities act
+    private static final String IDLE_SCRIPT = "1 -";
+
+    /**
+     * Runs the benchmark for all level maps.
+     * @param args not used
+     * @throws IOException when a level map can't be loaded
+     */
+    public static void main(String[] args) throws IOException {
+        MazeRunnerGame game = HeadlessGame.create();
+        HeadlessRunner runner = new HeadlessRunner(game, IDLE_SCRIPT);
+
+        HeadlessRunner.printHeader();
+        for (int levelIndex = 1; levelIndex <= MAX_LEVEL_INDEX; levelIndex++) {
+            String path = String.format(LEVEL_MAP_FORMAT, levelIndex);
+            runner.run(Gdx.files.local(path), MEASURED_TICKS, WARM_UP_TICKS);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package de.tum.cit.ase.maze.benchmark;
+
+import de.tum.cit.ase.maze.MazeRunnerGame;
+import de.tum.cit.ase.maze.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CrowdBenchmark class is the base of the benchmarks that measure one full simulation tick
+ * on a synthetic maze crowded with enemies. The subclasses only configure the game before the maze is loaded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@State(Scope.Thread)
+public abstract class CrowdBenchmark {
+
+    private static final float DELTA = 1 / 60f;
+    private static final long SEED = 42;
+
+    @Param({"1000", "10000", "100000"})
+    public int enemies;
+
+    private World world;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        MazeRunnerGame game = HeadlessGame.create();
+        configure(game);
+        game.getLevelMap().load(SyntheticMaze.writeCrowd(enemies, SEED));
+        world = game.getWorld();
+        world.initialize();
+        world.setTimeLeft(Float.MAX_VALUE); // the timer must not end the level while measuring
+    }
+
+    /**
+     * Configure the game before the crowded maze is loaded.
+     * @param game the headless game
+     */
+    protected abstract void configure(MazeRunnerGame game);
+
+    @Benchmark
+    public World.State tick() {
+        world.tick(DELTA);
+        return world.getState();
+    }
+}
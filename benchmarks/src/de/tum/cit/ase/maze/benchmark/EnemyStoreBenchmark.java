@@ -0,0 +1,19 @@
+package de.tum.cit.ase.maze.benchmark;
+
+import de.tum.cit.ase.maze.MazeRunnerGame;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * The EnemyStoreBenchmark class measures one full simulation tick on crowded mazes,
+ * with the enemies as Enemy entities and as columns of the enemy store.
+ */
+public class EnemyStoreBenchmark extends CrowdBenchmark {
+
+    @Param({"false", "true"})
+    public boolean store;
+
+    @Override
+    protected void configure(MazeRunnerGame game) {
+        game.setEnemyStoreEnabled(store);
+    }
+}
@@ -0,0 +1,83 @@
+package de.tum.cit.ase.maze.benchmark;
+
+import de.tum.cit.ase.maze.FlowField;
+import de.tum.cit.ase.maze.LevelMap;
+import de.tum.cit.ase.maze.MazeRunnerGame;
+import de.tum.cit.ase.maze.OccupancyGrid;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The FlowFieldBenchmark class measures the chase of the enemies on a large synthetic maze:
+ * one search of the flow field when the player changes the cell, and the step of one chasing enemy,
+ * which only reads the distances of the neighbour cells.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@State(Scope.Thread)
+public class FlowFieldBenchmark {
+
+    private static final long SEED = 42;
+
+    @Param({"500"})
+    public int size;
+
+    @Param({"12", "100000"}) // the default chase distance and the whole maze
+    public int chaseDistance;
+
+    private OccupancyGrid walls;
+    private FlowField flowField;
+    private int[] reachedCells; // cells around the player, where enemies would look up their next step
+    private int targetCol;
+    private int targetRow;
+    private int otherRow;
+    private int tick;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        MazeRunnerGame game = HeadlessGame.create();
+        LevelMap levelMap = game.getLevelMap();
+        levelMap.load(SyntheticMaze.write(size, size, SEED));
+        walls = levelMap.getWallGrid();
+
+        // A free cell near the center with a free cell above it, the player walks between them.
+        // The entry point of the synthetic maze is walled in.
+        targetRow = walls.getRows() / 2;
+        targetCol = walls.getColumns() / 2;
+        while (walls.isOccupied(targetCol, targetRow) || walls.isOccupied(targetCol, targetRow + 1)) {
+            targetCol++;
+        }
+        otherRow = targetRow + 1;
+
+        flowField = new FlowField(chaseDistance);
+        flowField.update(walls, targetCol, targetRow);
+        reachedCells = new int[walls.getColumns() * walls.getRows()];
+        int count = 0;
+        for (int row = 0; row < walls.getRows(); row++) {
+            for (int col = 0; col < walls.getColumns(); col++) {
+                if (flowField.getDistance(col, row) > 0) {
+                    reachedCells[count++] = row * walls.getColumns() + col;
+                }
+            }
+        }
+        reachedCells = Arrays.copyOf(reachedCells, count);
+    }
+
+    @Benchmark
+    public boolean search() {
+        // The player changes the cell every time, so every update searches again
+        return flowField.update(walls, targetCol, (tick++ & 1) == 0 ? otherRow : targetRow);
+    }
+
+    @Benchmark
+    public int step() {
+        int cell = reachedCells[tick++ % reachedCells.length];
+        return flowField.getNextCell(cell % walls.getColumns(), cell / walls.getColumns());
+    }
+}
@@ -0,0 +1,44 @@
+package de.tum.cit.ase.maze.benchmark;
+
+import de.tum.cit.ase.maze.MazeRunnerGame;
+import de.tum.cit.ase.maze.World;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The FrameBenchmark class measures one full simulation tick (the update part of a frame)
+ * on a large synthetic maze: all entities, the player, the exit checks and the despawn flush.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+@State(Scope.Thread)
+public class FrameBenchmark {
+
+    private static final float DELTA = 1 / 60f;
+    private static final long SEED = 42;
+
+    @Param({"500"})
+    public int size;
+
+    private World world;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        MazeRunnerGame game = HeadlessGame.create();
+        game.getLevelMap().load(SyntheticMaze.write(size, size, SEED));
+        world = game.getWorld();
+        world.initialize();
+        world.setTimeLeft(Float.MAX_VALUE); // the timer must not end the level while measuring
+    }
+
+    @Benchmark
+    public World.State tick() {
+        world.tick(DELTA);
+        return world.getState();
+    }
+}
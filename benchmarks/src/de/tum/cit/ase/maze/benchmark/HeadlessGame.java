@@ -0,0 +1,29 @@
+package de.tum.cit.ase.maze.benchmark;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessFiles;
+import com.badlogic.gdx.backends.headless.mock.audio.MockAudio;
+import de.tum.cit.ase.maze.MazeRunnerGame;
+
+/**
+ * The HeadlessGame class creates the game for benchmarks that run without an OpenGL context.
+ */
+public final class HeadlessGame {
+
+    private HeadlessGame() {
+    }
+
+    /**
+     * Set up the headless files and audio and create the game resources without graphics.
+     * @return the game with a level map and a world
+     */
+    public static MazeRunnerGame create() {
+        // Only files and audio are needed, no OpenGL context
+        Gdx.files = new HeadlessFiles();
+        Gdx.audio = new MockAudio();
+
+        MazeRunnerGame game = new MazeRunnerGame(null);
+        game.createHeadless();
+        return game;
+    }
+}
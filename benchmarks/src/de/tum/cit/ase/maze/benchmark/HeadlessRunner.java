@@ -0,0 +1,252 @@
+package de.tum.cit.ase.maze.benchmark;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessFiles;
+import com.badlogic.gdx.backends.headless.mock.audio.MockAudio;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.IntArray;
+import de.tum.cit.ase.maze.LevelCache;
+import de.tum.cit.ase.maze.MazeRunnerGame;
+import de.tum.cit.ase.maze.World;
+import de.tum.cit.ase.maze.entity.Player;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * The HeadlessRunner class runs the world simulation without graphics as fast as the CPU allows.
+ * It loads level maps, replays a scripted input stream and reports the tick throughput,
+ * the p50 and p99 tick latency and the allocated bytes per tick.
+ * When the level is won or lost, the map is loaded again outside of the measurement.
+ * <p>
+ * Usage: {@code HeadlessRunner [--ticks N] [--warmup N] [--script FILE] [MAP...]},
+ * without maps all maps/level-*.properties are run.
+ * <p>
+ * A script has one step per line: the number of ticks and the pressed controls,
+ * any of the letters U, D, L, R and A (attack), or - for none, e.g. {@code 60 UR}.
+ * Lines starting with # are comments. The script is repeated until all ticks are run.
+ */
+public class HeadlessRunner {
+
+    private static final String MAPS_DIRECTORY = "maps";
+    private static final float TICK_DURATION = 1 / 60f;
+    private static final int DEFAULT_TICKS = 100_000;
+    private static final int DEFAULT_WARM_UP_TICKS = 10_000;
+
+    // Walk around the entry point and attack, used when no script is given
+    private static final String DEFAULT_SCRIPT = """
+            60 R
+            60 U
+            30 UA
+            60 L
+            60 D
+            30 DA
+            20 -
+            """;
+
+    private final MazeRunnerGame game;
+    private final LevelCache levelCache;
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    private final IntArray scriptTicks;
+    private final IntArray scriptControls;
+    private int scriptStep;
+    private int scriptStepTicksLeft;
+
+    /**
+     * Creates the runner with the headless game and the parsed script.
+     * @param game the headless game
+     * @param script the input script
+     */
+    public HeadlessRunner(MazeRunnerGame game, String script) {
+        this.game = game;
+        this.levelCache = new LevelCache();
+        this.threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        this.scriptTicks = new IntArray();
+        this.scriptControls = new IntArray();
+        parseScript(script);
+    }
+
+    /**
+     * Runs the benchmark for the given maps.
+     * @param args the options and map paths, see the class description
+     * @throws IOException when a map or the script can't be loaded
+     */
+    public static void main(String[] args) throws IOException {
+        // Only files and audio are needed, no OpenGL context
+        Gdx.files = new HeadlessFiles();
+        Gdx.audio = new MockAudio();
+
+        int ticks = DEFAULT_TICKS;
+        int warmUpTicks = DEFAULT_WARM_UP_TICKS;
+        String script = DEFAULT_SCRIPT;
+        String[] maps = new String[0];
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--ticks" -> ticks = Integer.parseInt(args[++i]);
+                case "--warmup" -> warmUpTicks = Integer.parseInt(args[++i]);
+                case "--script" -> script = Gdx.files.local(args[++i]).readString();
+                default -> {
+                    maps = Arrays.copyOf(maps, maps.length + 1);
+                    maps[maps.length - 1] = args[i];
+                }
+            }
+        }
+        if (maps.length == 0) {
+            maps = findLevelMaps();
+        }
+
+        MazeRunnerGame game = new MazeRunnerGame(null);
+        game.createHeadless();
+        HeadlessRunner runner = new HeadlessRunner(game, script);
+
+        printHeader();
+        for (String map: maps) {
+            runner.run(Gdx.files.local(map), ticks, warmUpTicks);
+        }
+    }
+
+    /**
+     * Print the column names of the lines printed by run.
+     */
+    public static void printHeader() {
+        System.out.printf("%-28s %10s %12s %14s %12s %12s %14s %9s%n", "map", "entities", "ticks",
+                "ticks/s", "p50 (us)", "p99 (us)", "bytes/tick", "restarts");
+    }
+
+    /**
+     * Find all level maps in the maps directory.
+     * @return the paths of the level maps, sorted by name
+     */
+    private static String[] findLevelMaps() {
+        FileHandle[] files = Gdx.files.local(MAPS_DIRECTORY).list(".properties");
+        String[] maps = new String[files.length];
+        for (int i = 0; i < files.length; i++) {
+            maps[i] = files[i].path();
+        }
+        Arrays.sort(maps);
+        return maps;
+    }
+
+    /**
+     * Runs the simulation on one map and prints the results.
+     * @param map the level map file
+     * @param ticks the number of measured ticks
+     * @param warmUpTicks the number of ticks before the measurement
+     * @throws IOException when the map can't be loaded
+     */
+    public void run(FileHandle map, int ticks, int warmUpTicks) throws IOException {
+        World world = game.getWorld();
+        restart(map);
+        int entities = game.getLevelMap().getEntities().size;
+
+        for (int i = 0; i < warmUpTicks; i++) {
+            if (world.getState() != World.State.RUNNING) {
+                restart(map);
+            }
+            world.setControls(nextControls());
+            world.tick(TICK_DURATION);
+        }
+
+        long[] tickNanos = new long[ticks];
+        long allocated = 0;
+        long totalNanos = 0;
+        int restarts = 0;
+        for (int i = 0; i < ticks; i++) {
+            if (world.getState() != World.State.RUNNING) {
+                restart(map);
+                restarts++;
+            }
+            world.setControls(nextControls());
+
+            long allocatedBefore = threadBean.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            world.tick(TICK_DURATION);
+            long nanos = System.nanoTime() - start;
+            allocated += threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+            tickNanos[i] = nanos;
+            totalNanos += nanos;
+        }
+
+        Arrays.sort(tickNanos);
+        System.out.printf("%-28s %10d %12d %14.0f %12.2f %12.2f %14.2f %9d%n", map.path(), entities, ticks,
+                ticks / (totalNanos / 1e9), percentile(tickNanos, 0.5) / 1e3, percentile(tickNanos, 0.99) / 1e3,
+                (double) allocated / ticks, restarts);
+    }
+
+    /**
+     * Load the map again from the cached template and start a new level, the script starts from the beginning.
+     * @param map the level map file
+     * @throws IOException when the map can't be loaded
+     */
+    private void restart(FileHandle map) throws IOException {
+        game.getLevelMap().load(levelCache.get(map));
+        game.getWorld().initialize();
+        scriptStep = 0;
+        scriptStepTicksLeft = scriptTicks.get(0);
+    }
+
+    /**
+     * Get the controls of the next tick from the script.
+     * @return combined Player.CONTROL_* bits
+     */
+    private int nextControls() {
+        while (scriptStepTicksLeft <= 0) {
+            scriptStep = (scriptStep + 1) % scriptTicks.size;
+            scriptStepTicksLeft = scriptTicks.get(scriptStep);
+        }
+        scriptStepTicksLeft--;
+        return scriptControls.get(scriptStep);
+    }
+
+    /**
+     * Parse the script lines into ticks and controls.
+     * @param script the script
+     */
+    private void parseScript(String script) {
+        int totalTicks = 0;
+        for (String line: script.split("\n")) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            int controls = 0;
+            String letters = parts.length > 1 ? parts[1] : "-";
+            for (int i = 0; i < letters.length(); i++) {
+                switch (Character.toUpperCase(letters.charAt(i))) {
+                    case 'U' -> controls |= Player.CONTROL_UP;
+                    case 'D' -> controls |= Player.CONTROL_DOWN;
+                    case 'L' -> controls |= Player.CONTROL_LEFT;
+                    case 'R' -> controls |= Player.CONTROL_RIGHT;
+                    case 'A' -> controls |= Player.CONTROL_ATTACK;
+                    case '-' -> { } // no control
+                    default -> throw new IllegalArgumentException("Unknown control in script line: " + line);
+                }
+            }
+            int ticks = Integer.parseInt(parts[0]);
+            if (ticks < 0) {
+                throw new IllegalArgumentException("Negative ticks in script line: " + line);
+            }
+            scriptTicks.add(ticks);
+            scriptControls.add(controls);
+            totalTicks += ticks;
+        }
+        if (totalTicks == 0) {
+            throw new IllegalArgumentException("Script has no ticks");
+        }
+    }
+
+    /**
+     * Get a percentile of sorted values.
+     * @param sortedValues the sorted values
+     * @param percentile the percentile from 0 to 1
+     * @return the value at the percentile
+     */
+    private static long percentile(long[] sortedValues, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedValues.length) - 1;
+        return sortedValues[Math.max(0, Math.min(index, sortedValues.length - 1))];
+    }
+}
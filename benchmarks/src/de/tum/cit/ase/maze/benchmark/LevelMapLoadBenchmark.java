@@ -0,0 +1,65 @@
+package de.tum.cit.ase.maze.benchmark;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import de.tum.cit.ase.maze.LevelMap;
+import de.tum.cit.ase.maze.LevelMapConverter;
+import de.tum.cit.ase.maze.LevelTemplate;
+import de.tum.cit.ase.maze.MapGrid;
+import de.tum.cit.ase.maze.MazeRunnerGame;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The LevelMapLoadBenchmark class measures LevelMap.load for each shipped level,
+ * including the creation of the entities and the spatial and occupancy indices.
+ * Each level is loaded from the properties file, from a converted binary file
+ * and from a parsed level template, which is the cost of restarting a cached level.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LevelMapLoadBenchmark {
+
+    @Param({"1", "2", "3", "4", "5", "6"})
+    public int level;
+
+    @Param({"properties", "binary", "template"})
+    public String format;
+
+    private LevelMap levelMap;
+    private FileHandle map;
+    private LevelTemplate template;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        MazeRunnerGame game = HeadlessGame.create();
+        levelMap = game.getLevelMap();
+        map = Gdx.files.local("maps/level-" + level + ".properties");
+        if (format.equals("binary")) {
+            File file = File.createTempFile("level-" + level + "-", MapGrid.BINARY_EXTENSION);
+            file.deleteOnExit();
+            FileHandle binaryMap = Gdx.files.absolute(file.getAbsolutePath());
+            LevelMapConverter.convert(map, binaryMap);
+            map = binaryMap;
+        } else if (format.equals("template")) {
+            template = LevelTemplate.load(map);
+        }
+    }
+
+    @Benchmark
+    public int load() throws IOException {
+        if (template != null) {
+            levelMap.load(template);
+        } else {
+            levelMap.load(map);
+        }
+        return levelMap.getEntities().size;
+    }
+}
@@ -0,0 +1,51 @@
+package de.tum.cit.ase.maze.benchmark;
+
+import de.tum.cit.ase.maze.MazeRunnerGame;
+import de.tum.cit.ase.maze.entity.MoveResult;
+import de.tum.cit.ase.maze.entity.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The MoveBenchmark class measures MovableEntity.move with the wall, door and border checks.
+ * The player walks through the largest shipped level and turns whenever it is blocked,
+ * so both free moves and contacts are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveBenchmark {
+
+    private static final float DISTANCE = 50f / 60f; // default speed in one 60 Hz tick
+
+    private Player player;
+    private float dx;
+    private float dy;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        MazeRunnerGame game = HeadlessGame.create();
+        game.getLevelMap().load("maps/level-4.properties");
+        game.getWorld().initialize();
+        player = game.getWorld().getPlayer();
+        dx = DISTANCE;
+        dy = 0;
+    }
+
+    @Benchmark
+    public MoveResult move() {
+        MoveResult result = player.move(dx, dy);
+        if (result.isBlocked()) {
+            // Turn right: (1, 0) -> (0, -1) -> (-1, 0) -> (0, 1)
+            float oldDx = dx;
+            dx = -dy;
+            dy = -oldDx;
+        }
+        return result;
+    }
+}
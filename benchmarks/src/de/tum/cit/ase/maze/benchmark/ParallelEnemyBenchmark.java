@@ -0,0 +1,20 @@
+package de.tum.cit.ase.maze.benchmark;
+
+import de.tum.cit.ase.maze.MazeRunnerGame;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * The ParallelEnemyBenchmark class measures one full simulation tick on crowded mazes,
+ * with the enemies updated on one thread and in parallel batches on all cores.
+ * The parallel update is forced, so on one core it measures the cost of the batches and the merge.
+ */
+public class ParallelEnemyBenchmark extends CrowdBenchmark {
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    @Override
+    protected void configure(MazeRunnerGame game) {
+        game.getWorld().setParallelEnemiesForced(parallel); // measure the parallel batches even on one core
+    }
+}
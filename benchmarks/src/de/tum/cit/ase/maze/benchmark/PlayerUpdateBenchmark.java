@@ -0,0 +1,61 @@
+package de.tum.cit.ase.maze.benchmark;
+
+import de.tum.cit.ase.maze.LevelMap;
+import de.tum.cit.ase.maze.MazeRunnerGame;
+import de.tum.cit.ase.maze.World;
+import de.tum.cit.ase.maze.entity.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The PlayerUpdateBenchmark class measures Player.update with the movement and the scan for
+ * nearby pickups, traps and enemies. The level is loaded again before each iteration,
+ * so the pickups the player collects are back.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerUpdateBenchmark {
+
+    private static final float DELTA = 1 / 60f;
+    private static final int STEP_TICKS = 60;
+    private static final int[] CONTROLS = {
+            Player.CONTROL_RIGHT, Player.CONTROL_UP, Player.CONTROL_LEFT, Player.CONTROL_DOWN
+    };
+
+    @Param({"2", "4"})
+    public int level;
+
+    private MazeRunnerGame game;
+    private LevelMap levelMap;
+    private Player player;
+    private int tick;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        game = HeadlessGame.create();
+        levelMap = game.getLevelMap();
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration() throws IOException {
+        levelMap.load("maps/level-" + level + ".properties");
+        World world = game.getWorld();
+        world.initialize();
+        player = world.getPlayer();
+        tick = 0;
+    }
+
+    @Benchmark
+    public float update() {
+        player.setControls(CONTROLS[(tick++ / STEP_TICKS) % CONTROLS.length]);
+        player.update(DELTA);
+        levelMap.flushDespawned();
+        return player.getHealth();
+    }
+}
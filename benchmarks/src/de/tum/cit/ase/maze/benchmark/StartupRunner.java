@@ -0,0 +1,85 @@
+package de.tum.cit.ase.maze.benchmark;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.GL20;
+import de.tum.cit.ase.maze.MazeRunnerGame;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/**
+ * The StartupRunner class starts the whole game without a display and measures the startup.
+ * It runs the real create and render at 60 frames per second on the headless backend with a GL that does nothing,
+ * so the images, fonts and the skin are decoded like in the game, only the uploads to the GPU are skipped.
+ * The game logs the time to the first frame, to the menu and to all assets loaded (tag "Startup"),
+ * the runner stops when all assets are loaded.
+ */
+public class StartupRunner {
+
+    private static final int FRAMES_PER_SECOND = 60;
+
+    /**
+     * Runs the game until all assets are loaded.
+     * @param args not used
+     */
+    public static void main(String[] args) {
+        MazeRunnerGame game = new MazeRunnerGame(null);
+        GL20 gl = createNoOpGl();
+
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        config.updatesPerSecond = FRAMES_PER_SECOND;
+        new HeadlessApplication(new ApplicationAdapter() {
+            private boolean stopped; // the application exits after the current frame
+
+            @Override
+            public void create() {
+                Gdx.gl = gl;
+                Gdx.gl20 = gl;
+                game.create();
+            }
+
+            @Override
+            public void render() {
+                game.render();
+                if (game.isGameAssetsLoaded() && !stopped) {
+                    stopped = true;
+                    Gdx.app.log("Startup", "Stopped after " + ManagementFactory.getRuntimeMXBean().getUptime() + " ms");
+                    Gdx.app.exit();
+                }
+            }
+        }, config);
+    }
+
+    /**
+     * Create a GL that does nothing. Every query answers 1, so shaders compile and link,
+     * and all other calls return 0, false or nothing.
+     * @return the GL
+     */
+    private static GL20 createNoOpGl() {
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[]{GL20.class},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("glGet") && args != null) {
+                        for (Object arg: args) {
+                            if (arg instanceof IntBuffer buffer) {
+                                buffer.put(buffer.position(), 1);
+                            }
+                        }
+                    }
+                    Class<?> returnType = method.getReturnType();
+                    if (returnType == int.class) {
+                        return 1; // handles of buffers, textures and shaders
+                    } else if (returnType == boolean.class) {
+                        return false;
+                    } else if (returnType == float.class) {
+                        return 0f;
+                    } else if (returnType == String.class) {
+                        return "";
+                    }
+                    return null;
+                });
+    }
+}
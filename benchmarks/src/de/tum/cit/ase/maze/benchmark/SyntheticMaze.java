@@ -0,0 +1,157 @@
+package de.tum.cit.ase.maze.benchmark;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import de.tum.cit.ase.maze.LevelMap;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * The SyntheticMaze class generates large level maps in the properties format for benchmarks.
+ * The maze has outer walls, a wall on every second cell of every second row and random walls,
+ * enemies, traps and pickups in between. The entry point is walled in, so a player standing there
+ * is never hurt and the level keeps running.
+ */
+public final class SyntheticMaze {
+
+    private static final int ENTRY_COL = 3;
+    private static final int ENTRY_ROW = 3;
+
+    // Cumulative chances of the features on a free inner cell
+    private static final float WALL_CHANCE = 0.08f;
+    private static final float ENEMY_CHANCE = 0.09f;
+    private static final float TRAP_CHANCE = 0.095f;
+    private static final float COIN_CHANCE = 0.1f;
+    private static final float KEY_CHANCE = 0.102f;
+    private static final float HEART_CHANCE = 0.103f;
+    private static final float CLOCK_CHANCE = 0.104f;
+    private static final float POTION_CHANCE = 0.105f;
+
+    // Crowd: a quarter of the cells are enemies, they are placed on this share of the free inner cells
+    private static final int CELLS_PER_ENEMY = 4;
+    private static final float CROWD_ENEMY_CHANCE = 0.45f;
+
+    private SyntheticMaze() {
+    }
+
+    /**
+     * Generate the maze into a temporary file that is deleted when the JVM exits.
+     * @param columns the number of columns, at least 6
+     * @param rows the number of rows, at least 6
+     * @param seed the random seed, the same seed gives the same maze
+     * @return the file handle of the map
+     * @throws IOException when the file can't be written
+     */
+    public static FileHandle write(int columns, int rows, long seed) throws IOException {
+        File file = File.createTempFile(String.format("maze-%dx%d-", columns, rows), ".properties");
+        file.deleteOnExit();
+        FileHandle fileHandle = Gdx.files.absolute(file.getAbsolutePath());
+        fileHandle.writeString(generate(columns, rows, seed), false);
+        return fileHandle;
+    }
+
+    /**
+     * Generate a crowded maze into a temporary file that is deleted when the JVM exits.
+     * @param enemies the number of enemies
+     * @param seed the random seed, the same seed gives the same maze
+     * @return the file handle of the map
+     * @throws IOException when the file can't be written
+     */
+    public static FileHandle writeCrowd(int enemies, long seed) throws IOException {
+        File file = File.createTempFile(String.format("crowd-%d-", enemies), ".properties");
+        file.deleteOnExit();
+        FileHandle fileHandle = Gdx.files.absolute(file.getAbsolutePath());
+        fileHandle.writeString(generateCrowd(enemies, seed), false);
+        return fileHandle;
+    }
+
+    /**
+     * Generate a square maze with the walls of the regular maze and the given number of enemies,
+     * but no traps and pickups. The maze is large enough that about a quarter of the cells are enemies.
+     * @param enemies the number of enemies
+     * @param seed the random seed, the same seed gives the same maze
+     * @return the map in the properties format
+     */
+    public static String generateCrowd(int enemies, long seed) {
+        int size = Math.max(6, (int) Math.ceil(Math.sqrt((double) enemies * CELLS_PER_ENEMY)));
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(size * size * 8);
+        int enemiesLeft = enemies;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                LevelMap.Type type = getType(col, row, size, size, random);
+                if (type != null && type != LevelMap.Type.WALL && type != LevelMap.Type.ENTRY_POINT &&
+                        type != LevelMap.Type.EXIT) {
+                    type = null; // only walls and enemies
+                }
+                if (type == null && enemiesLeft > 0 && random.nextFloat() < CROWD_ENEMY_CHANCE) {
+                    type = LevelMap.Type.ENEMY;
+                    enemiesLeft--;
+                }
+                if (type != null) {
+                    builder.append(col).append(',').append(row).append('=').append(type.getValue()).append('\n');
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Generate the maze.
+     * @param columns the number of columns, at least 6
+     * @param rows the number of rows, at least 6
+     * @param seed the random seed, the same seed gives the same maze
+     * @return the map in the properties format
+     */
+    public static String generate(int columns, int rows, long seed) {
+        if (columns < 6 || rows < 6) {
+            throw new IllegalArgumentException("Maze must be at least 6x6 cells");
+        }
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(columns * rows * 8);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < columns; col++) {
+                LevelMap.Type type = getType(col, row, columns, rows, random);
+                if (type != null) {
+                    builder.append(col).append(',').append(row).append('=').append(type.getValue()).append('\n');
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Get the feature of one cell.
+     * @return the type, null for a free cell
+     */
+    private static LevelMap.Type getType(int col, int row, int columns, int rows, Random random) {
+        if (col == ENTRY_COL && row == ENTRY_ROW) {
+            return LevelMap.Type.ENTRY_POINT;
+        }
+        if (col == columns - 1 && row == rows / 2) {
+            return LevelMap.Type.EXIT;
+        }
+        if (col == 0 || row == 0 || col == columns - 1 || row == rows - 1) {
+            return LevelMap.Type.WALL; // outer walls
+        }
+        if (Math.abs(col - ENTRY_COL) <= 1 && Math.abs(row - ENTRY_ROW) <= 1) {
+            return LevelMap.Type.WALL; // walls around the entry point
+        }
+        if (col % 2 == 0 && row % 2 == 0) {
+            return LevelMap.Type.WALL;
+        }
+
+        float chance = random.nextFloat();
+        if (chance < WALL_CHANCE) return LevelMap.Type.WALL;
+        if (chance < ENEMY_CHANCE) return LevelMap.Type.ENEMY;
+        if (chance < TRAP_CHANCE) return LevelMap.Type.TRAP;
+        if (chance < COIN_CHANCE) return LevelMap.Type.COIN;
+        if (chance < KEY_CHANCE) return LevelMap.Type.KEY;
+        if (chance < HEART_CHANCE) return LevelMap.Type.HEART;
+        if (chance < CLOCK_CHANCE) return LevelMap.Type.CLOCK;
+        if (chance < POTION_CHANCE) return LevelMap.Type.POTION;
+        return null;
+    }
+}
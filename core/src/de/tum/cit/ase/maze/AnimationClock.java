@@ -0,0 +1,63 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * AnimationClock class is the one clock of a looping animation that all its entities share.
+ * The clock is advanced once per tick, and each entity looks up its frame when it is drawn,
+ * so hundreds of traps or coins don't need their own timer and update call.
+ */
+public class AnimationClock {
+
+    private final Animation<TextureRegion> animation;
+    private float time;
+
+    /**
+     * Creates the clock of an animation.
+     * @param animation the looping animation
+     */
+    public AnimationClock(Animation<TextureRegion> animation) {
+        this.animation = animation;
+    }
+
+    /**
+     * Advance the clock.
+     * @param delta the tick duration in seconds
+     */
+    public void update(float delta) {
+        time += delta;
+    }
+
+    /**
+     * Set the clock back to the first frame.
+     */
+    public void reset() {
+        time = 0;
+    }
+
+    /**
+     * Get the current frame.
+     * @param phase the time in seconds that an entity is ahead of the clock, 0 for all entities in sync
+     * @return the frame of the looping animation
+     */
+    public TextureRegion getKeyFrame(float phase) {
+        return animation.getKeyFrame(time + phase, true);
+    }
+
+    /**
+     * Get the animation.
+     * @return the animation
+     */
+    public Animation<TextureRegion> getAnimation() {
+        return animation;
+    }
+
+    /**
+     * Get the time of the clock.
+     * @return the time in seconds since the last reset
+     */
+    public float getTime() {
+        return time;
+    }
+}
@@ -0,0 +1,70 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * AnimationClocks class holds the shared clocks of the looping animations, one clock per animation.
+ * The clocks are added when the animations are loaded and are only read afterwards,
+ * so level maps that are loaded in the background can look them up.
+ */
+public class AnimationClocks {
+
+    private final Array<AnimationClock> clocks;
+    private final ObjectMap<Animation<TextureRegion>, AnimationClock> clocksByAnimation; // by identity
+
+    /**
+     * Creates the clocks without animations.
+     */
+    public AnimationClocks() {
+        this.clocks = new Array<>();
+        this.clocksByAnimation = new ObjectMap<>();
+    }
+
+    /**
+     * Add a clock for an animation.
+     * @param animation the looping animation
+     * @return the new clock
+     */
+    public AnimationClock add(Animation<TextureRegion> animation) {
+        AnimationClock clock = new AnimationClock(animation);
+        clocks.add(clock);
+        clocksByAnimation.put(animation, clock);
+        return clock;
+    }
+
+    /**
+     * Get the clock of an animation.
+     * @param animation the animation
+     * @return the clock
+     * @throws IllegalArgumentException when no clock was added for the animation
+     */
+    public AnimationClock get(Animation<TextureRegion> animation) {
+        AnimationClock clock = clocksByAnimation.get(animation);
+        if (clock == null) {
+            throw new IllegalArgumentException("No clock for this animation");
+        }
+        return clock;
+    }
+
+    /**
+     * Advance all clocks.
+     * @param delta the tick duration in seconds
+     */
+    public void update(float delta) {
+        for (int i = 0; i < clocks.size; i++) {
+            clocks.get(i).update(delta);
+        }
+    }
+
+    /**
+     * Set all clocks back to the first frame, e.g. when a level starts.
+     */
+    public void reset() {
+        for (int i = 0; i < clocks.size; i++) {
+            clocks.get(i).reset();
+        }
+    }
+}
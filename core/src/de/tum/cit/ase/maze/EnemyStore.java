@@ -0,0 +1,500 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * EnemyStore class keeps the enemies of huge maps as columns of primitive arrays instead of Enemy objects,
+ * one index per enemy. The update runs over the columns in one loop, so a tick reads the enemies one after
+ * another from a few arrays instead of following references to objects all over the heap.
+ * The enemies behave like Enemy: they roam in random directions and chase the player along the flow field.
+ * Removal moves the last enemy into the free index, so the indices aren't stable.
+ * Once the map is loaded, the enemies are also linked into lists per map cell, so the enemies
+ * in a rectangle are found without visiting all of them.
+ */
+public class EnemyStore {
+
+    // Directions, select the animation of an enemy
+    public static final byte DIRECTION_DOWN = 0;
+    public static final byte DIRECTION_UP = 1;
+    public static final byte DIRECTION_LEFT = 2;
+    public static final byte DIRECTION_RIGHT = 3;
+
+    // World set up, the same as for Enemy
+    private static final int CELL_WIDTH = 16;
+    private static final int CELL_HEIGHT = 16;
+    private static final int DEST_ACCURACY = CELL_WIDTH / 8;
+    private static final int DEFAULT_MOVE_LENGTH = CELL_WIDTH * 5;
+    private static final float SPEED = 25f;
+    private static final float PADDING = -1; // the hit box is a bit smaller than the cell, like the entity rectangle
+    private static final int INITIAL_CAPACITY = 64;
+
+    // One column per property, index i of every column belongs to the same enemy
+    private float[] x;
+    private float[] y;
+    private float[] previousX; // position at the start of the tick, used to interpolate the drawing
+    private float[] previousY;
+    private float[] destX;
+    private float[] destY;
+    private float[] time;
+    private byte[] direction;
+    private boolean[] wander; // true after a blocked chase step, the next move is random
+    private int[] cell; // index of the map cell of the position, -1 before the cells are built
+    private int[] nextInCell; // next enemy in the same cell, -1 at the end of the list
+    private int[] previousInCell; // previous enemy in the same cell, -1 at the start of the list
+    private int size;
+
+    // First enemy of each map cell, -1 if the cell is empty, the cells are built when the map is loaded
+    private int[] cellHeads;
+    private int columns;
+    private int rows;
+
+    private long randomState; // xorshift state, shared by all enemies
+    private final Rectangle rectangle; // reused for the collision checks
+
+    /**
+     * Creates an empty enemy store.
+     */
+    public EnemyStore() {
+        resize(INITIAL_CAPACITY);
+        randomState = ThreadLocalRandom.current().nextLong() | 1; // never 0
+        rectangle = new Rectangle();
+        cellHeads = new int[0];
+    }
+
+    /**
+     * Add an enemy that stands still until the next update.
+     * @param x the x position of the bottom left corner
+     * @param y the y position of the bottom left corner
+     */
+    public void add(float x, float y) {
+        if (size == this.x.length) {
+            resize(Math.max(INITIAL_CAPACITY, (int) (size * 1.75f)));
+        }
+        this.x[size] = x;
+        this.y[size] = y;
+        previousX[size] = x;
+        previousY[size] = y;
+        destX[size] = x;
+        destY[size] = y;
+        time[size] = 0;
+        direction[size] = DIRECTION_DOWN;
+        wander[size] = false;
+        cell[size] = -1;
+        if (columns > 0) {
+            link(size, getCellIndex(x, y));
+        }
+        size++;
+    }
+
+    /**
+     * Remove an enemy by moving the last enemy into its index.
+     * @param index the index of the enemy
+     */
+    public void remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index can't be >= size: " + index + " >= " + size);
+        }
+        unlink(index);
+        int last = --size;
+        if (index == last) {
+            return;
+        }
+        int lastCell = cell[last];
+        unlink(last);
+        x[index] = x[last];
+        y[index] = y[last];
+        previousX[index] = previousX[last];
+        previousY[index] = previousY[last];
+        destX[index] = destX[last];
+        destY[index] = destY[last];
+        time[index] = time[last];
+        direction[index] = direction[last];
+        wander[index] = wander[last];
+        if (lastCell >= 0) {
+            link(index, lastCell);
+        }
+    }
+
+    /**
+     * Remove all enemies, the columns are kept for the next level.
+     * The cells are built again by buildCells when the next map is loaded.
+     */
+    public void clear() {
+        size = 0;
+        columns = 0;
+        rows = 0;
+    }
+
+    /**
+     * Link all enemies into the lists of their map cells, enemies added later are linked when they are added.
+     * @param columns the number of map columns
+     * @param rows the number of map rows
+     */
+    public void buildCells(int columns, int rows) {
+        this.columns = Math.max(columns, 1);
+        this.rows = Math.max(rows, 1);
+        if (cellHeads.length < this.columns * this.rows) {
+            cellHeads = new int[this.columns * this.rows];
+        }
+        Arrays.fill(cellHeads, 0, this.columns * this.rows, -1);
+        for (int i = 0; i < size; i++) {
+            cell[i] = -1;
+            link(i, getCellIndex(x[i], y[i]));
+        }
+    }
+
+    /**
+     * Collect the enemies whose position is inside the rectangle, from the cells that the rectangle touches.
+     * @param rectangle the rectangle in pixels
+     * @param result the array where the indices of the found enemies are added
+     * @return the result array
+     */
+    public IntArray queryRect(Rectangle rectangle, IntArray result) {
+        if (columns == 0) {
+            return result; // no cells yet
+        }
+        int startCol = clampColumn((int) Math.floor(rectangle.x / CELL_WIDTH));
+        int endCol = clampColumn((int) Math.floor((rectangle.x + rectangle.width) / CELL_WIDTH));
+        int startRow = clampRow((int) Math.floor(rectangle.y / CELL_HEIGHT));
+        int endRow = clampRow((int) Math.floor((rectangle.y + rectangle.height) / CELL_HEIGHT));
+        for (int row = startRow; row <= endRow; row++) {
+            for (int col = startCol; col <= endCol; col++) {
+                for (int i = cellHeads[row * columns + col]; i >= 0; i = nextInCell[i]) {
+                    if (rectangle.contains(x[i], y[i])) {
+                        result.add(i);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Update all enemies: pick the next destination when it is reached and move one step towards it.
+     * Only the columns, the wall and door grids and the flow field are read.
+     * @param delta the tick duration in seconds
+     * @param levelMap the level map with the walls and doors
+     * @param flowField the distances to the player
+     */
+    public void update(float delta, LevelMap levelMap, FlowField flowField) {
+        float step = SPEED * delta;
+        for (int i = 0; i < size; i++) {
+            previousX[i] = x[i];
+            previousY[i] = y[i];
+            time[i] += delta;
+            direction[i] = DIRECTION_DOWN; // standing enemies look down
+
+            // check if destination position equals actual position
+            if (Math.abs(destX[i] - x[i]) < DEST_ACCURACY && Math.abs(destY[i] - y[i]) < DEST_ACCURACY) {
+                if (wander[i] || !setChaseDestination(i, flowField)) {
+                    wander[i] = false;
+                    setRandomDestination(i);
+                }
+            }
+
+            // Move along the shorter axis first and stop exactly on the destination, like MovableEntity.moveTowards
+            float dx = destX[i] - x[i];
+            float dy = destY[i] - y[i];
+            boolean moved = true;
+            if (dx != 0 && (dy == 0 || Math.abs(dx) <= Math.abs(dy))) {
+                direction[i] = dx < 0 ? DIRECTION_LEFT : DIRECTION_RIGHT;
+                moved = moveAxis(i, MathUtils.clamp(dx, -step, step), true, levelMap);
+            } else if (dy != 0) {
+                direction[i] = dy < 0 ? DIRECTION_DOWN : DIRECTION_UP;
+                moved = moveAxis(i, MathUtils.clamp(dy, -step, step), false, levelMap);
+            }
+
+            // If it cannot move than reset destination position
+            if (!moved) {
+                wander[i] = true;
+                destX[i] = x[i];
+                destY[i] = y[i];
+            }
+
+            // Move the enemy to the list of its new cell, only when it crosses a cell border
+            if (columns > 0) {
+                int newCell = getCellIndex(x[i], y[i]);
+                if (newCell != cell[i]) {
+                    unlink(i);
+                    link(i, newCell);
+                }
+            }
+        }
+    }
+
+    /**
+     * Set the destination to the next cell on the way to the player, if the player is close enough.
+     * @param i the index of the enemy
+     * @param flowField the distances to the player
+     * @return true if the enemy chases the player
+     */
+    private boolean setChaseDestination(int i, FlowField flowField) {
+        int cell = flowField.getChaseCell(x[i], y[i]);
+        if (cell < 0) {
+            return false;
+        }
+        destX[i] = flowField.getCellX(cell);
+        destY[i] = flowField.getCellY(cell);
+        return true;
+    }
+
+    /**
+     * Set the destination a few cells away in a random direction.
+     * @param i the index of the enemy
+     */
+    private void setRandomDestination(int i) {
+        long bits = nextRandom();
+        int sign = (bits & 1) == 0 ? 1 : -1; // random sign
+        if ((bits & 2) == 0) {
+            destX[i] = x[i] + sign * DEFAULT_MOVE_LENGTH;
+            destY[i] = y[i];
+        } else {
+            destY[i] = y[i] + sign * DEFAULT_MOVE_LENGTH;
+            destX[i] = x[i];
+        }
+    }
+
+    /**
+     * Move an enemy along one axis. If the new position is blocked, the enemy stops at the cell border
+     * in front of it if that is free, so it stays on the cell grid.
+     * @param i the index of the enemy
+     * @param distance the distance in pixels
+     * @param horizontal true for the x axis, false for the y axis
+     * @param levelMap the level map with the walls and doors
+     * @return true if the enemy could move the whole distance
+     */
+    private boolean moveAxis(int i, float distance, boolean horizontal, LevelMap levelMap) {
+        float[] axis = horizontal ? x : y;
+        float oldValue = axis[i];
+        float newValue = oldValue + distance;
+        axis[i] = newValue;
+        if (!isBlocked(i, levelMap)) {
+            return true;
+        }
+
+        float cellSize = horizontal ? CELL_WIDTH : CELL_HEIGHT;
+        float border = distance > 0 ? (float) Math.ceil(oldValue / cellSize) * cellSize :
+                (float) Math.floor(oldValue / cellSize) * cellSize;
+        axis[i] = oldValue;
+        if (border != oldValue && (distance > 0 ? border < newValue : border > newValue)) {
+            axis[i] = border;
+            if (isBlocked(i, levelMap)) {
+                axis[i] = oldValue;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check the hit box of an enemy with the borders, walls and closed doors.
+     * @param i the index of the enemy
+     * @param levelMap the level map
+     * @return true if the enemy is blocked
+     */
+    private boolean isBlocked(int i, LevelMap levelMap) {
+        fillRectangle(i, rectangle);
+        if (rectangle.x < 0 || rectangle.x + rectangle.width > levelMap.getMapWidth() ||
+                rectangle.y < 0 || rectangle.y + rectangle.height > levelMap.getMapHeight()) { // check borders
+            return true;
+        }
+        return levelMap.isBlocked(rectangle);
+    }
+
+    /**
+     * Find the first enemy whose hit box overlaps the rectangle.
+     * Only the enemies in the cells that the rectangle touches and in the cells around them are checked,
+     * a hit box reaches at most into the next cell, so the cost doesn't depend on the number of enemies.
+     * @param other the rectangle in pixels
+     * @return the index of the enemy, -1 if no enemy overlaps the rectangle or the cells aren't built yet
+     */
+    public int findOverlapping(Rectangle other) {
+        if (columns == 0) {
+            return -1; // no cells yet
+        }
+        float minX = other.x - CELL_WIDTH - PADDING * 2;
+        float maxX = other.x + other.width;
+        float minY = other.y - CELL_HEIGHT - PADDING * 2;
+        float maxY = other.y + other.height;
+        int startCol = clampColumn((int) Math.floor(other.x / CELL_WIDTH) - 1);
+        int endCol = clampColumn((int) Math.floor(maxX / CELL_WIDTH) + 1);
+        int startRow = clampRow((int) Math.floor(other.y / CELL_HEIGHT) - 1);
+        int endRow = clampRow((int) Math.floor(maxY / CELL_HEIGHT) + 1);
+        for (int row = startRow; row <= endRow; row++) {
+            for (int col = startCol; col <= endCol; col++) {
+                for (int i = cellHeads[row * columns + col]; i >= 0; i = nextInCell[i]) {
+                    float left = x[i] - PADDING;
+                    float bottom = y[i] - PADDING;
+                    if (left > minX && left < maxX && bottom > minY && bottom < maxY) {
+                        return i;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Write the hit box of an enemy into the rectangle.
+     * @param i the index of the enemy
+     * @param rectangle the rectangle to fill
+     * @return the rectangle
+     */
+    public Rectangle fillRectangle(int i, Rectangle rectangle) {
+        return rectangle.set(x[i] - PADDING, y[i] - PADDING, CELL_WIDTH + PADDING * 2, CELL_HEIGHT + PADDING * 2);
+    }
+
+    /**
+     * Put an enemy at the start of the list of a cell.
+     * @param i the index of the enemy
+     * @param cellIndex the cell index
+     */
+    private void link(int i, int cellIndex) {
+        int head = cellHeads[cellIndex];
+        cell[i] = cellIndex;
+        previousInCell[i] = -1;
+        nextInCell[i] = head;
+        if (head >= 0) {
+            previousInCell[head] = i;
+        }
+        cellHeads[cellIndex] = i;
+    }
+
+    /**
+     * Take an enemy out of the list of its cell.
+     * @param i the index of the enemy
+     */
+    private void unlink(int i) {
+        int cellIndex = cell[i];
+        if (cellIndex < 0) {
+            return; // not linked
+        }
+        int previous = previousInCell[i];
+        int next = nextInCell[i];
+        if (previous >= 0) {
+            nextInCell[previous] = next;
+        } else {
+            cellHeads[cellIndex] = next;
+        }
+        if (next >= 0) {
+            previousInCell[next] = previous;
+        }
+        cell[i] = -1;
+    }
+
+    /**
+     * Get cell index for the position, positions outside the map are clamped to the border cells.
+     * @param x the x position in pixels
+     * @param y the y position in pixels
+     * @return the cell index
+     */
+    private int getCellIndex(float x, float y) {
+        return clampRow((int) Math.floor(y / CELL_HEIGHT)) * columns + clampColumn((int) Math.floor(x / CELL_WIDTH));
+    }
+
+    private int clampColumn(int col) {
+        return Math.max(0, Math.min(col, columns - 1));
+    }
+
+    private int clampRow(int row) {
+        return Math.max(0, Math.min(row, rows - 1));
+    }
+
+    /**
+     * Get the next random bits, xorshift is enough to choose directions.
+     * @return the random bits
+     */
+    private long nextRandom() {
+        randomState ^= randomState << 13;
+        randomState ^= randomState >>> 7;
+        randomState ^= randomState << 17;
+        return randomState;
+    }
+
+    /**
+     * Grow the columns.
+     * @param capacity the new capacity
+     */
+    private void resize(int capacity) {
+        x = x == null ? new float[capacity] : Arrays.copyOf(x, capacity);
+        y = y == null ? new float[capacity] : Arrays.copyOf(y, capacity);
+        previousX = previousX == null ? new float[capacity] : Arrays.copyOf(previousX, capacity);
+        previousY = previousY == null ? new float[capacity] : Arrays.copyOf(previousY, capacity);
+        destX = destX == null ? new float[capacity] : Arrays.copyOf(destX, capacity);
+        destY = destY == null ? new float[capacity] : Arrays.copyOf(destY, capacity);
+        time = time == null ? new float[capacity] : Arrays.copyOf(time, capacity);
+        direction = direction == null ? new byte[capacity] : Arrays.copyOf(direction, capacity);
+        wander = wander == null ? new boolean[capacity] : Arrays.copyOf(wander, capacity);
+        cell = cell == null ? new int[capacity] : Arrays.copyOf(cell, capacity);
+        nextInCell = nextInCell == null ? new int[capacity] : Arrays.copyOf(nextInCell, capacity);
+        previousInCell = previousInCell == null ? new int[capacity] : Arrays.copyOf(previousInCell, capacity);
+    }
+
+    /**
+     * Get the number of enemies.
+     * @return the number of enemies
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Get the x position of an enemy.
+     * @param i the index of the enemy
+     * @return the x position of the bottom left corner
+     */
+    public float getX(int i) {
+        return x[i];
+    }
+
+    /**
+     * Get the y position of an enemy.
+     * @param i the index of the enemy
+     * @return the y position of the bottom left corner
+     */
+    public float getY(int i) {
+        return y[i];
+    }
+
+    /**
+     * Get the x position of an enemy interpolated between the previous and the current tick.
+     * @param i the index of the enemy
+     * @param alpha the progress between the ticks
+     * @return the x position where the enemy is drawn
+     */
+    public float getDrawX(int i, float alpha) {
+        return previousX[i] + (x[i] - previousX[i]) * alpha;
+    }
+
+    /**
+     * Get the y position of an enemy interpolated between the previous and the current tick.
+     * @param i the index of the enemy
+     * @param alpha the progress between the ticks
+     * @return the y position where the enemy is drawn
+     */
+    public float getDrawY(int i, float alpha) {
+        return previousY[i] + (y[i] - previousY[i]) * alpha;
+    }
+
+    /**
+     * Get the time since an enemy was added, used for the animation.
+     * @param i the index of the enemy
+     * @return the time in seconds
+     */
+    public float getTime(int i) {
+        return time[i];
+    }
+
+    /**
+     * Get the direction of the last step of an enemy.
+     * @param i the index of the enemy
+     * @return one of the DIRECTION_* values
+     */
+    public byte getDirection(int i) {
+        return direction[i];
+    }
+}
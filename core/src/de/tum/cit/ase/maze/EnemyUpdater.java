@@ -0,0 +1,81 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.utils.Array;
+import de.tum.cit.ase.maze.entity.Enemy;
+import de.tum.cit.ase.maze.entity.Entity;
+import de.tum.cit.ase.maze.entity.UpdatableEntity;
+
+import java.util.stream.IntStream;
+
+/**
+ * EnemyUpdater class updates the enemies of a level map in parallel batches on the common ForkJoinPool.
+ * While the enemies move, they only read the wall and door grids, the flow field and their own state,
+ * none of them is changed until all batches are done, so the batches don't write anything they share.
+ * The spatial index isn't touched during the moves. The moved enemies are put into their new cells afterwards
+ * in the order of the update on one thread, so the level map ends up exactly as without the parallel update,
+ * whatever order the batches finish in.
+ */
+public class EnemyUpdater {
+
+    // Enemies per batch, a batch is updated by one thread
+    private static final int BATCH_SIZE = 256;
+    // Fewer enemies are updated faster on one thread
+    private static final int MIN_PARALLEL_ENEMIES = BATCH_SIZE * 2;
+    // On one core the batches run one after another, and the merge is only overhead
+    private static final boolean MULTI_CORE = Runtime.getRuntime().availableProcessors() > 1;
+
+    private EnemyUpdater() {
+    }
+
+    /**
+     * Check if a parallel update is faster than the update on one thread.
+     * @param enemyCount the number of enemies
+     * @return true if there are enough enemies and more than one core
+     */
+    public static boolean isWorthwhile(int enemyCount) {
+        return MULTI_CORE && enemyCount >= MIN_PARALLEL_ENEMIES;
+    }
+
+    /**
+     * Update all enemies of the level map in parallel, then update their cells in the spatial index.
+     * Must be called between the ticks of other entities, nothing else may change the level map at the same time.
+     * @param levelMap the level map
+     * @param delta the tick duration in seconds
+     */
+    public static void update(LevelMap levelMap, float delta) {
+        Array<Entity> enemies = levelMap.getEntities(LevelMap.Type.ENEMY);
+        int batchCount = (enemies.size + BATCH_SIZE - 1) / BATCH_SIZE;
+
+        levelMap.setPositionUpdatesDeferred(true);
+        try {
+            // A parallel stream runs on the common pool, the calling thread takes batches as well
+            IntStream.range(0, batchCount).parallel().forEach(batch -> updateBatch(enemies, batch, delta));
+        } finally {
+            levelMap.setPositionUpdatesDeferred(false);
+        }
+
+        // Merge the moves into the spatial index like the update on one thread, backwards over the active set
+        Array<UpdatableEntity> activeEntities = levelMap.getActiveEntities();
+        for (int i = activeEntities.size - 1; i >= 0; i--) {
+            if (activeEntities.get(i) instanceof Enemy enemy) {
+                enemy.flushPositionUpdate();
+            }
+        }
+    }
+
+    /**
+     * Update the enemies of one batch.
+     * @param enemies all enemies of the level map
+     * @param batch the batch index
+     * @param delta the tick duration in seconds
+     */
+    private static void updateBatch(Array<Entity> enemies, int batch, float delta) {
+        int end = Math.min(enemies.size, (batch + 1) * BATCH_SIZE);
+        for (int i = batch * BATCH_SIZE; i < end; i++) {
+            Enemy enemy = (Enemy) enemies.get(i);
+            if (!enemy.isDespawnPending()) {
+                enemy.update(delta);
+            }
+        }
+    }
+}
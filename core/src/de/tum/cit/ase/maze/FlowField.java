@@ -0,0 +1,226 @@
+package de.tum.cit.ase.maze;
+
+import java.util.Arrays;
+
+/**
+ * FlowField class is a distance map from one target cell, the player, over the free cells of the wall grid.
+ * It is filled by one breadth-first search up to a maximal distance, and each chasing enemy
+ * only looks at the distances of its four neighbour cells to find the next step,
+ * so the cost of a tick doesn't grow with the number of chasing enemies.
+ * The search only runs again when the target changes its cell, and it only resets the cells it has reached.
+ */
+public class FlowField {
+
+    public static final int UNREACHABLE = -1;
+
+    // World set up
+    private static final int CELL_WIDTH = 16;
+    private static final int CELL_HEIGHT = 16;
+
+    private int columns;
+    private int rows;
+    private int[] distances; // distance in steps per cell, UNREACHABLE if not reached
+    private int[] queue; // cells in the order they were reached, also used to reset them
+    private int reachedCount;
+
+    // Grid and version of the last search
+    private OccupancyGrid walls;
+    private int wallsVersion;
+
+    private int maxDistance;
+    private int targetCol = -1;
+    private int targetRow = -1;
+
+    /**
+     * Creates an empty flow field.
+     * @param maxDistance the maximal distance in steps from the target, 0 disables the field
+     */
+    public FlowField(int maxDistance) {
+        this.maxDistance = maxDistance;
+        this.distances = new int[0];
+        this.queue = new int[0];
+    }
+
+    /**
+     * Search the distances from the target cell, if the target or the walls have changed since the last search.
+     * @param walls the wall grid, the blocked cells
+     * @param col the column of the target
+     * @param row the row of the target
+     * @return true if the distances were searched again
+     */
+    public boolean update(OccupancyGrid walls, int col, int row) {
+        if (walls.getColumns() != columns || walls.getRows() != rows) {
+            resize(walls.getColumns(), walls.getRows());
+        } else if (col == targetCol && row == targetRow && walls == this.walls && walls.getVersion() == wallsVersion) {
+            return false; // still in the same cell
+        }
+        this.walls = walls;
+        wallsVersion = walls.getVersion();
+
+        // Forget the last search, only the reached cells have a distance
+        for (int i = 0; i < reachedCount; i++) {
+            distances[queue[i]] = UNREACHABLE;
+        }
+        reachedCount = 0;
+        targetCol = col;
+        targetRow = row;
+        if (maxDistance <= 0 || !contains(col, row) || walls.isOccupied(col, row)) {
+            return true;
+        }
+
+        int start = row * columns + col;
+        distances[start] = 0;
+        queue[reachedCount++] = start;
+        for (int head = 0; head < reachedCount; head++) {
+            int cell = queue[head];
+            int distance = distances[cell] + 1;
+            if (distance > maxDistance) {
+                continue;
+            }
+            int cellCol = cell % columns;
+            int cellRow = cell / columns;
+            reach(walls, cellCol, cellRow + 1, distance);
+            reach(walls, cellCol, cellRow - 1, distance);
+            reach(walls, cellCol - 1, cellRow, distance);
+            reach(walls, cellCol + 1, cellRow, distance);
+        }
+        return true;
+    }
+
+    /**
+     * Give a cell its distance and queue it, if it is free and wasn't reached yet.
+     * @param walls the wall grid
+     * @param col the column
+     * @param row the row
+     * @param distance the distance of the cell
+     */
+    private void reach(OccupancyGrid walls, int col, int row, int distance) {
+        if (!contains(col, row)) {
+            return;
+        }
+        int cell = row * columns + col;
+        if (distances[cell] == UNREACHABLE && !walls.isOccupied(col, row)) {
+            distances[cell] = distance;
+            queue[reachedCount++] = cell;
+        }
+    }
+
+    /**
+     * Get the neighbour cell that is one step closer to the target.
+     * @param col the column
+     * @param row the row
+     * @return the cell index (row * columns + col) of the next step, -1 if the cell isn't reached or is the target
+     */
+    public int getNextCell(int col, int row) {
+        int distance = getDistance(col, row);
+        if (distance <= 0) {
+            return -1;
+        }
+        // Any neighbour with a smaller distance is exactly one step closer
+        if (getDistance(col, row + 1) == distance - 1) {
+            return (row + 1) * columns + col;
+        } else if (getDistance(col, row - 1) == distance - 1) {
+            return (row - 1) * columns + col;
+        } else if (getDistance(col - 1, row) == distance - 1) {
+            return row * columns + col - 1;
+        } else if (getDistance(col + 1, row) == distance - 1) {
+            return row * columns + col + 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Get the cell that a chasing entity walks to next: the neighbour cell one step closer to the target,
+     * or the target cell itself if the entity is already in it. The entity is in the cell of its center.
+     * @param x the x position of the bottom left corner of the entity, the entity is one cell large
+     * @param y the y position of the bottom left corner of the entity
+     * @return the cell index (row * columns + col) of the destination, -1 if the entity doesn't chase the target
+     */
+    public int getChaseCell(float x, float y) {
+        int col = (int) Math.floor((x + CELL_WIDTH / 2f) / CELL_WIDTH);
+        int row = (int) Math.floor((y + CELL_HEIGHT / 2f) / CELL_HEIGHT);
+        int distance = getDistance(col, row);
+        if (distance == UNREACHABLE) {
+            return -1;
+        }
+        return distance > 0 ? getNextCell(col, row) : row * columns + col;
+    }
+
+    /**
+     * Get the x position of the bottom left corner of a cell.
+     * @param cell the cell index (row * columns + col)
+     * @return the x position in pixels
+     */
+    public float getCellX(int cell) {
+        return (cell % columns) * CELL_WIDTH;
+    }
+
+    /**
+     * Get the y position of the bottom left corner of a cell.
+     * @param cell the cell index (row * columns + col)
+     * @return the y position in pixels
+     */
+    public float getCellY(int cell) {
+        return (cell / columns) * CELL_HEIGHT;
+    }
+
+    /**
+     * Get the distance of a cell to the target.
+     * @param col the column
+     * @param row the row
+     * @return the distance in steps, UNREACHABLE if the cell is blocked, outside or too far away
+     */
+    public int getDistance(int col, int row) {
+        return contains(col, row) ? distances[row * columns + col] : UNREACHABLE;
+    }
+
+    /**
+     * Create the arrays for a new grid size.
+     * @param columns the number of columns
+     * @param rows the number of rows
+     */
+    private void resize(int columns, int rows) {
+        this.columns = columns;
+        this.rows = rows;
+        distances = new int[columns * rows];
+        Arrays.fill(distances, UNREACHABLE);
+        queue = new int[columns * rows];
+        reachedCount = 0;
+    }
+
+    /**
+     * Check if cell is inside the grid.
+     * @param col the column
+     * @param row the row
+     * @return true if the cell is inside the grid
+     */
+    private boolean contains(int col, int row) {
+        return col >= 0 && col < columns && row >= 0 && row < rows;
+    }
+
+    /**
+     * Get the maximal distance from the target.
+     * @return the maximal distance in steps
+     */
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    /**
+     * Set the maximal distance from the target, the next update searches again.
+     * @param maxDistance the maximal distance in steps, 0 disables the field
+     */
+    public void setMaxDistance(int maxDistance) {
+        this.maxDistance = maxDistance;
+        targetCol = -1;
+        targetRow = -1;
+    }
+
+    /**
+     * Get the number of columns.
+     * @return the number of columns
+     */
+    public int getColumns() {
+        return columns;
+    }
+}
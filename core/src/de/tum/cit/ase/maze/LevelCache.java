@@ -0,0 +1,97 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LevelCache class keeps the parsed templates of the recently used level maps,
+ * so restarting a level or going to a prefetched level doesn't read and parse the file again.
+ * The cache holds a bounded number of templates and drops the least recently used one when it is full.
+ * A cached template is parsed again when the file was changed. The cache can be used from several threads.
+ */
+public class LevelCache {
+
+    // Default number of cached levels, the current, the next and a few recently played ones
+    public static final int DEFAULT_CAPACITY = 4;
+
+    private final Map<String, LevelTemplate> templates;
+
+    /**
+     * Creates the cache with the default capacity.
+     */
+    public LevelCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates the cache.
+     * @param capacity the maximal number of cached templates
+     */
+    public LevelCache(int capacity) {
+        // Access order, so the eldest entry is the least recently used one
+        this.templates = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LevelTemplate> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Get the template of a map file, the file is parsed if it isn't cached or was changed.
+     * Parsing doesn't block other threads, two threads may parse the same file at the same time.
+     * @param fileHandle the map file
+     * @return the template
+     * @throws IOException when we can't load the map from this fileHandle
+     */
+    public LevelTemplate get(FileHandle fileHandle) throws IOException {
+        String key = getKey(fileHandle);
+        synchronized (templates) {
+            LevelTemplate template = templates.get(key);
+            if (template != null) {
+                return template;
+            }
+        }
+
+        LevelTemplate template = LevelTemplate.load(fileHandle);
+        synchronized (templates) {
+            templates.put(key, template);
+        }
+        return template;
+    }
+
+    /**
+     * Check if the template of a map file is cached and up to date.
+     * @param fileHandle the map file
+     * @return true if get returns without parsing
+     */
+    public boolean contains(FileHandle fileHandle) {
+        String key = getKey(fileHandle);
+        synchronized (templates) {
+            return templates.containsKey(key);
+        }
+    }
+
+    /**
+     * Remove all cached templates.
+     */
+    public void clear() {
+        synchronized (templates) {
+            templates.clear();
+        }
+    }
+
+    /**
+     * Get the cache key of a map file.
+     * The same path can be different files for different file types,
+     * and the modification time makes a changed file a new entry, the old one is dropped as least recently used.
+     * @param fileHandle the map file
+     * @return the key
+     */
+    private static String getKey(FileHandle fileHandle) {
+        return fileHandle.type() + ":" + fileHandle.path() + ":" + fileHandle.lastModified();
+    }
+}
@@ -0,0 +1,140 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+/**
+ * LevelLoader class loads level maps on a worker thread, so the render thread isn't blocked by large maps.
+ * The map file is parsed into a level template, or taken from the level cache, and a new LevelMap
+ * is created from the template. The result is handed back to the render thread
+ * with Gdx.app.postRunnable, where the game switches to the new level.
+ * Only the latest requested load is delivered, older loads are dropped when they finish.
+ * Maps that will be needed soon can be prefetched into the cache while a level is played.
+ */
+public class LevelLoader implements Disposable {
+
+    // Progress after parsing the template, the rest is the level map
+    private static final float TEMPLATE_PROGRESS = 0.3f;
+
+    /**
+     * Callback interface receives the result of a load on the render thread.
+     */
+    public interface Callback {
+
+        /**
+         * Called when the level is ready.
+         * @param levelMap the loaded level map
+         */
+        void onLevelLoaded(LevelMap levelMap);
+
+        /**
+         * Called when the level couldn't be loaded.
+         * @param fileHandle the map file
+         * @param exception the reason
+         */
+        void onLevelLoadFailed(FileHandle fileHandle, Exception exception);
+    }
+
+    private final MazeRunnerGame game;
+    private final AsyncExecutor executor;
+    private final LevelCache levelCache;
+
+    // Written by the worker thread, read by the render thread
+    private volatile boolean templateLoaded;
+    private volatile LevelMap loadingMap;
+    private volatile int generation;
+
+    /**
+     * Creates the loader with one worker thread.
+     * @param game the game instance
+     */
+    public LevelLoader(MazeRunnerGame game) {
+        this.game = game;
+        this.executor = new AsyncExecutor(1, "LevelLoader");
+        this.levelCache = new LevelCache();
+    }
+
+    /**
+     * Start loading the map file on the worker thread.
+     * @param fileHandle the map file
+     * @param callback the callback, called on the render thread
+     */
+    public void load(FileHandle fileHandle, Callback callback) {
+        int loadGeneration = ++generation;
+        templateLoaded = false;
+        loadingMap = null;
+
+        executor.submit(() -> {
+            try {
+                LevelTemplate template = levelCache.get(fileHandle);
+                templateLoaded = true;
+                LevelMap levelMap = new LevelMap(game);
+                loadingMap = levelMap;
+                levelMap.load(template);
+                Gdx.app.postRunnable(() -> {
+                    if (loadGeneration == generation) {
+                        callback.onLevelLoaded(levelMap);
+                    }
+                });
+            }
+            catch (Exception exception) {
+                Gdx.app.postRunnable(() -> {
+                    if (loadGeneration == generation) {
+                        callback.onLevelLoadFailed(fileHandle, exception);
+                    }
+                });
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Parse the map file into the level cache on the worker thread, so a later load of it is fast.
+     * Runs after the loads that were requested before, errors are ignored until the map is really loaded.
+     * @param fileHandle the map file
+     */
+    public void prefetch(FileHandle fileHandle) {
+        executor.submit(() -> {
+            try {
+                if (fileHandle.exists()) {
+                    levelCache.get(fileHandle);
+                }
+            }
+            catch (Exception exception) {
+                Gdx.app.log("LevelLoader", "Failed to prefetch level map at: " + fileHandle.path(), exception);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Get the progress of the current load.
+     * @return the progress from 0 to 1
+     */
+    public float getProgress() {
+        LevelMap levelMap = loadingMap;
+        if (levelMap != null) {
+            return TEMPLATE_PROGRESS + levelMap.getLoadProgress() * (1 - TEMPLATE_PROGRESS);
+        }
+        return templateLoaded ? TEMPLATE_PROGRESS : 0;
+    }
+
+    /**
+     * Get the cache of the parsed level maps.
+     * @return the level cache
+     */
+    public LevelCache getLevelCache() {
+        return levelCache;
+    }
+
+    /**
+     * Stop the worker thread.
+     */
+    @Override
+    public void dispose() {
+        generation++; // drop the result of a running load
+        executor.dispose();
+    }
+}
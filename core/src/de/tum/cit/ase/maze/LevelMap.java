@@ -2,9 +2,8 @@
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.ObjectMap;
-import com.badlogic.gdx.utils.PropertiesUtils;
 
 import java.io.IOException;
 
@@ -15,6 +14,8 @@
  * - load maps
  * - search for certain game objects on the map
  * - calculate the size of the map
+ * - find game objects near a rectangle using the spatial index
+ * - remove game objects in O(1), deferred to the end of the frame while entities are updated
  * - and also gain access to game objects
  */
 public class LevelMap {
@@ -35,6 +36,9 @@ public enum Type {
         CLOCK(8, Clock.class),
         POTION(9, Potion.class);
 
+        // values() copies the array on every call
+        private static final Type[] VALUES = values();
+
         final int value;
         final Class aClass;
 
@@ -54,7 +58,7 @@ public enum Type {
          * @return type
          */
         public static Type valueOf(int value) {
-            for (Type type: values()) {
+            for (Type type: VALUES) {
                 if (type.value == value) {
                     return type;
                 }
@@ -62,6 +66,28 @@ public static Type valueOf(int value) {
             return null;
         }
 
+        /**
+         * Get the type by entity class.
+         * @param aClass entity class
+         * @return type, null if the class isn't a map feature
+         */
+        public static Type valueOf(Class aClass) {
+            for (Type type: VALUES) {
+                if (type.aClass == aClass) {
+                    return type;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Get type bit mask, used to query several types at once.
+         * @return type bit mask
+         */
+        public int getMask() {
+            return 1 << ordinal();
+        }
+
         /**
          * Get type value.
          * @return type value
@@ -82,9 +108,51 @@ public Class getaClass() {
     // Set up world
     private static final int CELL_WIDTH = 16;
     private static final int CELL_HEIGHT = 16;
+    private static final float DOOR_PADDING = 1f; // same as the default entity rectangle padding
+
+    // Load progress after parsing the file and after creating the entities, the indices are the rest
+    private static final float PARSED_PROGRESS = 0.3f;
+    private static final float ENTITIES_PROGRESS = 0.9f;
+    private static final int PROGRESS_INTERVAL = 1023; // mask, update the progress every 1024 entities
+
+    // Type masks for queries
+    public static final int ALL_TYPES = ~0;
+    public static final int PICKUP_TYPES = Type.KEY.getMask() | Type.HEART.getMask() | Type.COIN.getMask() |
+            Type.CLOCK.getMask() | Type.POTION.getMask();
+    public static final int HAZARD_TYPES = Type.TRAP.getMask() | Type.ENEMY.getMask();
+    private static final int BLOCKER_TYPES = Type.WALL.getMask() | Type.EXIT.getMask();
 
     // Storage of all entities from map
     private Array<Entity> entities;
+    private final Array<Entity>[] entitiesByType;
+
+    // Entities that are updated every tick, see activate and deactivate
+    private final Array<UpdatableEntity> activeEntities;
+
+    // Entities despawned during the update, removed by flushDespawned
+    private final Array<Entity> despawnQueue;
+
+    // Entities bucketed by cell, used for collision lookups
+    private SpatialIndex spatialIndex;
+    private final Array<Entity> queryResult;
+
+    // Static wall cells and dynamic closed door cells, used for blocking checks
+    private OccupancyGrid wallGrid;
+    private OccupancyGrid closedDoorGrid;
+    private boolean indexed; // false while loading, indices are built once all entities are known
+    private boolean positionUpdatesDeferred; // true while the enemies move in parallel
+
+    // Enemies as columns of primitive arrays instead of Enemy entities, null if the map creates Enemy entities
+    private EnemyStore enemyStore;
+
+    // Derived stats, kept in sync by addEntity and removeEntity
+    private float maxX;
+    private float maxY;
+    private int numberOfKeys;
+    private EntryPoint entryPoint;
+
+    // Progress of a running load, read by other threads while the map is loaded in the background
+    private volatile float loadProgress = 1f;
 
     private final MazeRunnerGame game;
 
@@ -92,9 +160,21 @@ public Class getaClass() {
      * Creates level map.
      * @param game the game instance
      */
+    @SuppressWarnings("unchecked")
     public LevelMap(MazeRunnerGame game) {
         this.game = game;
         this.entities = new Array<>();
+        this.entitiesByType = (Array<Entity>[]) new Array<?>[Type.values().length];
+        for (int i = 0; i < entitiesByType.length; i++) {
+            entitiesByType[i] = new Array<>();
+        }
+        this.activeEntities = new Array<>(false, 64, UpdatableEntity.class);
+        this.despawnQueue = new Array<>(false, 16);
+        this.spatialIndex = new SpatialIndex(1, 1, CELL_WIDTH, CELL_HEIGHT);
+        this.queryResult = new Array<>(false, 16);
+        this.wallGrid = new OccupancyGrid(0, 0);
+        this.closedDoorGrid = new OccupancyGrid(0, 0);
+        setEnemyStoreEnabled(game.isEnemyStoreEnabled()); // also for the maps of the level loader
     }
 
     /**
@@ -107,164 +187,570 @@ public void load(String path) throws IOException {
     }
 
     /**
-     * Load map from FileHandle.
+     * Load map from FileHandle, either in the properties format or in the binary format.
      * @param fileHandle fileHandle where we are going to load the map
      * @throws IOException when we can't load the map from this fileHandle
      */
     public void load(FileHandle fileHandle) throws IOException {
-        entities = new Array<>();
+        loadProgress = 0;
+        LevelTemplate template = LevelTemplate.load(fileHandle);
+        loadProgress = PARSED_PROGRESS;
+        load(template, PARSED_PROGRESS);
+    }
 
-        // Read file content
-        ObjectMap<String, String> map = new ObjectMap<>(); // first String is coordinates, second is the type
-        PropertiesUtils.load(map, fileHandle.reader());
-        map.forEach(entry -> {
-            try {
-                String[] coords = entry.key.split(","); // split coordinates
-                // check if coordinates are correct (introduced because of level map 2)
-                if (coords.length == 2) {
-                    int typeValue = Integer.parseInt(entry.value); // get type value
-                    Type type = Type.valueOf(typeValue); // get type
-                    assert type != null;
-                    Entity entity = (Entity) type.getaClass().getConstructor(MazeRunnerGame.class)
-                            .newInstance(game); // create new entity
-                    int col = Integer.parseInt(coords[0]); // get column
-                    int row = Integer.parseInt(coords[1]); // get row
-                    entity.setX(col * CELL_WIDTH); // set x coordinate
-                    entity.setY(row * CELL_HEIGHT); // set y coordinate
-
-                    // Additional options if it is a wall or inner water
-                    if (entity instanceof Wall wall) {
-                        boolean hasLowerWall = checkIfCellExistsAndItIsWall(map, col, row - 1);
-                        boolean hasUpperWall = checkIfCellExistsAndItIsWall(map, col, row + 1);
-                        boolean isWater = checkIfCellExistsAndItIsWater(map, col, row);
-                        boolean aboveWater = checkIfCellExistsAndItIsWater(map, col, row - 1);
-
-                        if (isWater) {
-                            wall.setRepresentationType(Wall.RepresentationType.WATER);
-                        } else if (aboveWater) {
-                            wall.setRepresentationType(Wall.RepresentationType.LOWER_WITHOUT_UPPER);
-                        } else if (hasLowerWall && hasUpperWall) {
-                            wall.setRepresentationType(Wall.RepresentationType.CENTER_WITH_UPPER_AND_LOWER);
-                        } else if (hasLowerWall) {
-                            wall.setRepresentationType(Wall.RepresentationType.UPPER);
-                        } else if (hasUpperWall) {
-                            wall.setRepresentationType(Wall.RepresentationType.LOWER_WITH_UPPER);
-                        }
-                        else {
-                            wall.setRepresentationType(Wall.RepresentationType.LOWER_WITHOUT_UPPER);
-                        }
-                    }
-
-                    entities.add(entity); // add entity to the list to store them
+    /**
+     * Load map from a parsed grid.
+     * @param grid the grid with the type value of each cell
+     */
+    public void load(MapGrid grid) {
+        load(new LevelTemplate(grid));
+    }
+
+    /**
+     * Load map from a parsed level template.
+     * Only the entities and the indices are created, the template can be used again to restart the level.
+     * @param template the level template
+     */
+    public void load(LevelTemplate template) {
+        loadProgress = 0;
+        load(template, 0);
+    }
+
+    /**
+     * Load map from a parsed level template and report the progress from the start progress on.
+     * @param template the level template
+     * @param startProgress the progress before the entities are created
+     */
+    private void load(LevelTemplate template, float startProgress) {
+        clear();
+
+        int cellCount = template.getCellCount();
+        entities.ensureCapacity(cellCount);
+        for (int i = 0; i < cellCount; i++) {
+            if (enemyStore != null && template.getType(i) == Type.ENEMY) {
+                // No entity, the enemy is one index of the store
+                enemyStore.add(template.getCol(i) * CELL_WIDTH, template.getRow(i) * CELL_HEIGHT);
+            } else {
+                Entity entity = createEntity(template.getType(i)); // create new entity
+                entity.setX(template.getCol(i) * CELL_WIDTH); // set x coordinate
+                entity.setY(template.getRow(i) * CELL_HEIGHT); // set y coordinate
+
+                // Additional options if it is a wall or inner water
+                if (entity instanceof Wall wall) {
+                    wall.setRepresentationType(template.getWallRepresentationType(i));
+                }
+
+                addEntity(entity); // add entity to the list to store them
+
+                if (i == template.getEntryIndex()) {
+                    entryPoint = (EntryPoint) entity;
                 }
             }
-            catch (Exception exception) {
-                // ignore wrong lines
-                exception.printStackTrace();
+            if ((i & PROGRESS_INTERVAL) == 0) {
+                loadProgress = startProgress + (ENTITIES_PROGRESS - startProgress) * i / cellCount;
             }
-        });
+        }
+
+        loadProgress = ENTITIES_PROGRESS;
+        buildIndices();
+        loadProgress = 1f;
     }
 
     /**
-     * Find (first) entry point in a map.
-     * @return (first) entry point
+     * Create a new entity of the type.
+     * @param type the type
+     * @return the new entity
      */
-    public EntryPoint findEntryPoint() {
-        for (Entity entity: entities) {
-            if (entity instanceof EntryPoint entryPoint) {
-                return entryPoint;
-            }
+    private Entity createEntity(Type type) {
+        return switch (type) {
+            case WALL -> new Wall(game);
+            case ENTRY_POINT -> new EntryPoint(game);
+            case EXIT -> new Exit(game);
+            case TRAP -> new Trap(game);
+            case ENEMY -> new Enemy(game);
+            case KEY -> new Key(game);
+            case HEART -> new Heart(game);
+            case COIN -> new Coin(game);
+            case CLOCK -> new Clock(game);
+            case POTION -> new Potion(game);
+        };
+    }
+
+    /**
+     * Remove all entities and reset the map stats.
+     */
+    private void clear() {
+        entities = new Array<>();
+        for (Array<Entity> typeEntities: entitiesByType) {
+            typeEntities.clear();
         }
-        return null;
+        activeEntities.clear();
+        despawnQueue.clear();
+        if (enemyStore != null) {
+            enemyStore.clear();
+        }
+        indexed = false;
+        maxX = 0;
+        maxY = 0;
+        numberOfKeys = 0;
+        entryPoint = null;
     }
 
     /**
-     * Calculates map width.
-     * @return map width in pixels
+     * Build the spatial index and the wall and door occupancy grids for all entities of the map.
      */
-    public float getMapWidth() {
-        float maxX = 0;
+    private void buildIndices() {
+        int columns = (int) getMapWidth() / CELL_WIDTH;
+        int rows = (int) getMapHeight() / CELL_HEIGHT;
+        spatialIndex = new SpatialIndex(columns, rows, CELL_WIDTH, CELL_HEIGHT);
+        wallGrid = new OccupancyGrid(columns, rows);
+        closedDoorGrid = new OccupancyGrid(columns, rows);
         for (Entity entity: entities) {
-            if (entity.getX() > maxX) {
-                maxX = entity.getX();
+            addToIndices(entity);
+        }
+        if (enemyStore != null) {
+            enemyStore.buildCells(columns, rows);
+        }
+        indexed = true;
+    }
+
+    /**
+     * Add entity to the spatial index and the occupancy grids.
+     * @param entity the entity
+     */
+    private void addToIndices(Entity entity) {
+        spatialIndex.insert(entity);
+        if (entity instanceof Wall) {
+            wallGrid.set(getColumn(entity), getRow(entity), true);
+        } else if (entity instanceof Exit exit && !exit.isOpen()) {
+            closedDoorGrid.set(getColumn(entity), getRow(entity), true);
+        }
+    }
+
+    /**
+     * Add entity to the map and update the map bounds and stats.
+     * Entities added after loading should be inside the map bounds, the indices don't grow.
+     * @param entity the entity to add, must be one of the map feature classes
+     */
+    public void addEntity(Entity entity) {
+        Type type = Type.valueOf(entity.getClass());
+        if (type == null) {
+            throw new IllegalArgumentException("Entity isn't a map feature: " + entity);
+        }
+        entity.setType(type);
+        entity.setSlotIndex(entities.size);
+        entities.add(entity);
+        Array<Entity> typeEntities = entitiesByType[type.ordinal()];
+        entity.setTypeSlotIndex(typeEntities.size);
+        typeEntities.add(entity);
+        entity.setDespawnPending(false);
+        if (entity instanceof UpdatableEntity updatableEntity && updatableEntity.isInitiallyActive()) {
+            activate(updatableEntity);
+        }
+
+        maxX = Math.max(maxX, entity.getX());
+        maxY = Math.max(maxY, entity.getY());
+        if (entity instanceof Key) {
+            numberOfKeys++;
+        } else if (entity instanceof EntryPoint point && entryPoint == null) {
+            entryPoint = point;
+        }
+
+        if (indexed) {
+            addToIndices(entity);
+        }
+    }
+
+    /**
+     * Check if the rectangle overlaps a wall or a closed door.
+     * Only the cells covered by the rectangle are looked up.
+     * @param rectangle the rectangle in pixels
+     * @return true if the rectangle is blocked
+     */
+    public boolean isBlocked(Rectangle rectangle) {
+        // Cells touched by the rectangle, touching edges don't count as overlap
+        int startCol = (int) Math.floor(rectangle.x / CELL_WIDTH);
+        int endCol = (int) Math.ceil((rectangle.x + rectangle.width) / CELL_WIDTH) - 1;
+        int startRow = (int) Math.floor(rectangle.y / CELL_HEIGHT);
+        int endRow = (int) Math.ceil((rectangle.y + rectangle.height) / CELL_HEIGHT) - 1;
+
+        if (wallGrid.isAnyOccupied(startCol, startRow, endCol, endRow)) {
+            return true;
+        }
+
+        // Doors are a bit smaller than their cell
+        for (int row = startRow; row <= endRow; row++) {
+            for (int col = startCol; col <= endCol; col++) {
+                if (closedDoorGrid.isOccupied(col, row) &&
+                        rectangle.x < col * CELL_WIDTH + CELL_WIDTH - DOOR_PADDING &&
+                        rectangle.x + rectangle.width > col * CELL_WIDTH + DOOR_PADDING &&
+                        rectangle.y < row * CELL_HEIGHT + CELL_HEIGHT - DOOR_PADDING &&
+                        rectangle.y + rectangle.height > row * CELL_HEIGHT + DOOR_PADDING) {
+                    return true;
+                }
             }
         }
-        return maxX + CELL_WIDTH;
+        return false;
     }
 
     /**
-     * Calculates map height.
-     * @return map height in pixels
+     * Find the wall or closed exit that overlaps the rectangle.
+     * @param rectangle the rectangle in pixels
+     * @return the blocking wall or exit, null if nothing blocks the rectangle
      */
-    public float getMapHeight() {
-        float maxY = 0;
-        for (Entity entity: entities) {
-            if (entity.getY() > maxY) {
-                maxY = entity.getY();
+    public Entity findBlocker(Rectangle rectangle) {
+        Array<Entity> nearbyEntities = queryRect(rectangle, BLOCKER_TYPES);
+        for (int i = 0; i < nearbyEntities.size; i++) {
+            Entity entity = nearbyEntities.get(i);
+            if (entity instanceof Wall &&
+                    rectangle.x < entity.getX() + CELL_WIDTH && rectangle.x + rectangle.width > entity.getX() &&
+                    rectangle.y < entity.getY() + CELL_HEIGHT && rectangle.y + rectangle.height > entity.getY()) {
+                return entity;
+            }
+            if (entity instanceof Exit exit && !exit.isOpen() && exit.getEntityRectangle().overlaps(rectangle)) {
+                return exit;
             }
         }
-        return maxY + CELL_HEIGHT;
+        return null;
     }
 
     /**
-     * Check if cell exists in current col and row position and it is a wall.
-     * @param map level map
-     * @param col current column
-     * @param row current row
-     * @return true if cell exists and it is a wall
+     * Mark the door cell as closed or open.
+     * @param exit the exit (door)
+     * @param closed true if the door blocks movement
      */
-    private boolean checkIfCellExistsAndItIsWall(ObjectMap<String, String> map, int col, int row) {
-        try {
-            // Get value from the map with format "col,row"
-            String value = map.get(String.format("%d,%d", col, row));
-            // Check if the value isn't null and it's a wall
-            return value != null && Integer.parseInt(value) == Type.WALL.getValue();
+    public void setDoorClosed(Exit exit, boolean closed) {
+        closedDoorGrid.set(getColumn(exit), getRow(exit), closed);
+    }
+
+    /**
+     * Get the column of the entity position.
+     * @param entity the entity
+     * @return the column
+     */
+    private int getColumn(Entity entity) {
+        return (int) Math.floor(entity.getX() / CELL_WIDTH);
+    }
+
+    /**
+     * Get the row of the entity position.
+     * @param entity the entity
+     * @return the row
+     */
+    private int getRow(Entity entity) {
+        return (int) Math.floor(entity.getY() / CELL_HEIGHT);
+    }
+
+    /**
+     * Remove entity from the map immediately.
+     * Must not be called while the entities are iterated, use despawn instead.
+     * @param entity the entity to remove
+     */
+    public void removeEntity(Entity entity) {
+        if (!isOnMap(entity)) {
+            return; // not on this map
         }
-        catch (NumberFormatException e) {
-            // Ignore the wrong file format
+        if (entity.isDespawnPending()) {
+            despawnQueue.removeValue(entity, true);
+        } else {
+            removeFromIndices(entity);
         }
-        return false;
+        removeFromStorage(entity);
     }
 
-    private boolean checkIfCellExistsAndItIsWater(ObjectMap<String, String> map, int col, int row) {
-        try {
-            String value = map.get(String.format("%d,%d", col, row)); // get value from the map with format "col,row"
-            boolean hasOuterWalls = checkIfCellExistsAndItIsWall(map, col, row - 1) &&
-                    checkIfCellExistsAndItIsWall(map, col, row + 1) &&
-                    checkIfCellExistsAndItIsWall(map, col - 1, row) &&
-                    checkIfCellExistsAndItIsWall(map, col + 1, row) &&
-                    checkIfCellExistsAndItIsWall(map, col - 1, row - 1) &&
-                    checkIfCellExistsAndItIsWall(map, col + 1, row - 1) &&
-                    checkIfCellExistsAndItIsWall(map, col - 1, row + 1) &&
-                    checkIfCellExistsAndItIsWall(map, col + 1, row + 1);
-            // Check if the value isn't null and it's a wall
-            return value != null && Integer.parseInt(value) == Type.WALL.getValue() && hasOuterWalls;
+    /**
+     * Remove entity from the map at the end of the frame.
+     * The entity is hidden from queries and blocking checks at once,
+     * but stays in the entity arrays until flushDespawned is called, so running iterations aren't disturbed.
+     * @param entity the entity to remove
+     */
+    public void despawn(Entity entity) {
+        if (!isOnMap(entity) || entity.isDespawnPending()) {
+            return; // not on this map or already despawned
         }
-        catch (NumberFormatException e) {
-            // Ignore the wrong file format
+        entity.setDespawnPending(true);
+        removeFromIndices(entity);
+        despawnQueue.add(entity);
+    }
+
+    /**
+     * Remove all entities despawned since the last call.
+     * Called once per frame after all entities have been updated.
+     */
+    public void flushDespawned() {
+        for (int i = 0; i < despawnQueue.size; i++) {
+            removeFromStorage(despawnQueue.get(i));
         }
-        return false;
+        despawnQueue.clear();
+    }
+
+    /**
+     * Check if the entity is stored in this map.
+     * @param entity the entity
+     * @return true if the entity is on this map
+     */
+    private boolean isOnMap(Entity entity) {
+        int slotIndex = entity.getSlotIndex();
+        return slotIndex >= 0 && slotIndex < entities.size && entities.get(slotIndex) == entity;
+    }
+
+    /**
+     * Remove entity from the spatial index and the occupancy grids.
+     * @param entity the entity
+     */
+    private void removeFromIndices(Entity entity) {
+        if (!indexed) {
+            return;
+        }
+        spatialIndex.remove(entity);
+        if (entity instanceof Wall) {
+            wallGrid.set(getColumn(entity), getRow(entity), false);
+        } else if (entity instanceof Exit exit) {
+            setDoorClosed(exit, false);
+        }
+    }
+
+    /**
+     * Remove entity from the entity arrays by moving the last entity into its slot, and update the map stats.
+     * The order of the entities changes, but the removal is O(1).
+     * @param entity the entity
+     */
+    private void removeFromStorage(Entity entity) {
+        int slotIndex = entity.getSlotIndex();
+        Entity last = entities.pop();
+        if (last != entity) {
+            entities.set(slotIndex, last);
+            last.setSlotIndex(slotIndex);
+        }
+
+        Array<Entity> typeEntities = entitiesByType[entity.getType().ordinal()];
+        int typeSlotIndex = entity.getTypeSlotIndex();
+        Entity lastOfType = typeEntities.pop();
+        if (lastOfType != entity) {
+            typeEntities.set(typeSlotIndex, lastOfType);
+            lastOfType.setTypeSlotIndex(typeSlotIndex);
+        }
+
+        if (entity instanceof UpdatableEntity updatableEntity) {
+            deactivate(updatableEntity);
+        }
+
+        entity.setSlotIndex(-1);
+        entity.setTypeSlotIndex(-1);
+        entity.setDespawnPending(false);
+
+        if (entity instanceof Key) {
+            numberOfKeys--;
+        } else if (entity == entryPoint) {
+            Array<Entity> entryPoints = entitiesByType[Type.ENTRY_POINT.ordinal()];
+            entryPoint = entryPoints.isEmpty() ? null : (EntryPoint) entryPoints.first();
+        }
+    }
+
+    /**
+     * Add the entity to the active entities, so it is updated every tick until it is deactivated.
+     * Does nothing if the entity is already active or isn't on this map.
+     * @param entity the entity
+     */
+    public void activate(UpdatableEntity entity) {
+        if (entity.getActiveSlotIndex() >= 0 || !isOnMap(entity)) {
+            return;
+        }
+        entity.setActiveSlotIndex(activeEntities.size);
+        activeEntities.add(entity);
+    }
+
+    /**
+     * Remove the entity from the active entities by moving the last active entity into its slot.
+     * An entity may deactivate itself during its update, if the active entities are iterated backwards.
+     * Does nothing if the entity isn't active.
+     * @param entity the entity
+     */
+    public void deactivate(UpdatableEntity entity) {
+        int activeSlotIndex = entity.getActiveSlotIndex();
+        if (activeSlotIndex < 0 || activeSlotIndex >= activeEntities.size ||
+                activeEntities.get(activeSlotIndex) != entity) {
+            return; // not active on this map
+        }
+        UpdatableEntity last = activeEntities.pop();
+        if (last != entity) {
+            activeEntities.set(activeSlotIndex, last);
+            last.setActiveSlotIndex(activeSlotIndex);
+        }
+        entity.setActiveSlotIndex(-1);
+    }
+
+    /**
+     * Update the entity cell in the spatial index after the entity has moved.
+     * @param entity the moved entity
+     */
+    public void updateEntityPosition(Entity entity) {
+        spatialIndex.update(entity);
+    }
+
+    /**
+     * Check if moved entities must wait with the update of their cell in the spatial index.
+     * @return true while the enemies are updated in parallel
+     */
+    public boolean isPositionUpdatesDeferred() {
+        return positionUpdatesDeferred;
+    }
+
+    /**
+     * Let moved entities wait with the update of their cell, so the spatial index isn't changed by several threads.
+     * The entities are put into their new cells by {@link MovableEntity#flushPositionUpdate()} afterwards.
+     * @param positionUpdatesDeferred true before the parallel update, false after it
+     */
+    public void setPositionUpdatesDeferred(boolean positionUpdatesDeferred) {
+        this.positionUpdatesDeferred = positionUpdatesDeferred;
+    }
+
+    /**
+     * Find entities near the rectangle.
+     * Only a broad phase: the returned entities are in the cells around the rectangle and may not overlap it.
+     * The returned array is reused by the next call.
+     * @param rectangle the rectangle in pixels
+     * @return array of entities near the rectangle
+     */
+    public Array<Entity> queryRect(Rectangle rectangle) {
+        return queryRect(rectangle, ALL_TYPES);
+    }
+
+    /**
+     * Find entities of the given types near the rectangle.
+     * Only a broad phase: the returned entities are in the cells around the rectangle and may not overlap it.
+     * The returned array is reused by the next call.
+     * @param rectangle the rectangle in pixels
+     * @param typeMask the types to find, combined {@link Type#getMask()} values
+     * @return array of entities near the rectangle
+     */
+    public Array<Entity> queryRect(Rectangle rectangle, int typeMask) {
+        queryResult.clear();
+        return spatialIndex.queryRect(rectangle, typeMask, queryResult);
+    }
+
+    /**
+     * Find entities of the given types near the rectangle and add them to the result array.
+     * Only a broad phase: the found entities are in the cells around the rectangle and may not overlap it.
+     * @param rectangle the rectangle in pixels
+     * @param typeMask the types to find, combined {@link Type#getMask()} values
+     * @param result the array where found entities are added
+     * @return the result array
+     */
+    public Array<Entity> queryRect(Rectangle rectangle, int typeMask, Array<Entity> result) {
+        return spatialIndex.queryRect(rectangle, typeMask, result);
+    }
+
+    /**
+     * Find entities of the given types near the rectangle, sorted by their cell row from the top down.
+     * Only a broad phase like queryRect, used to draw the entities in depth order.
+     * @param rectangle the rectangle in pixels
+     * @param typeMask the types to find, combined {@link Type#getMask()} values
+     * @param result the array where found entities are added
+     * @return the result array
+     */
+    public Array<Entity> queryRectByRow(Rectangle rectangle, int typeMask, Array<Entity> result) {
+        return spatialIndex.queryRectByRow(rectangle, typeMask, result);
+    }
+
+    /**
+     * Find (first) entry point in a map.
+     * @return (first) entry point
+     */
+    public EntryPoint findEntryPoint() {
+        return entryPoint;
+    }
+
+    /**
+     * Get map width.
+     * The bounds are the extents of the loaded layout, they only grow when entities are added.
+     * @return map width in pixels
+     */
+    public float getMapWidth() {
+        return maxX + CELL_WIDTH;
+    }
+
+    /**
+     * Get map height.
+     * The bounds are the extents of the loaded layout, they only grow when entities are added.
+     * @return map height in pixels
+     */
+    public float getMapHeight() {
+        return maxY + CELL_HEIGHT;
     }
 
     /**
      * Get all entities from this map.
+     * The array must not be changed directly, use addEntity, removeEntity and despawn instead.
+     * Removal moves the last entity into the free slot, so the order of the entities isn't stable.
      * @return array of all entities
      */
     public Array<Entity> getEntities() {
         return entities;
     }
 
+    /**
+     * Get the entities that are updated every tick.
+     * The array must not be changed directly, use activate and deactivate instead.
+     * @return array of the active entities
+     */
+    public Array<UpdatableEntity> getActiveEntities() {
+        return activeEntities;
+    }
+
+    /**
+     * Get all entities of one type from this map.
+     * The array must not be changed directly, use addEntity, removeEntity and despawn instead.
+     * @param type the entity type
+     * @return array of the entities of this type
+     */
+    public Array<Entity> getEntities(Type type) {
+        return entitiesByType[type.ordinal()];
+    }
+
+    /**
+     * Get the enemy store.
+     * @return the store with the enemies of the map, null if the enemies are Enemy entities
+     */
+    public EnemyStore getEnemyStore() {
+        return enemyStore;
+    }
+
+    /**
+     * Set if the enemies of the next loaded maps are kept in an enemy store instead of Enemy entities.
+     * Meant for huge maps with many enemies, the current map isn't changed.
+     * @param enemyStoreEnabled true to keep the enemies in an enemy store
+     */
+    public void setEnemyStoreEnabled(boolean enemyStoreEnabled) {
+        if (!enemyStoreEnabled) {
+            enemyStore = null;
+        } else if (enemyStore == null) {
+            enemyStore = new EnemyStore();
+        }
+    }
+
+    /**
+     * Get the wall grid, one bit per cell that is blocked by a wall.
+     * The grid must not be changed directly, it is kept in sync by addEntity and removeEntity.
+     * @return the wall grid
+     */
+    public OccupancyGrid getWallGrid() {
+        return wallGrid;
+    }
+
+    /**
+     * Get the progress of the running load, can be called from other threads.
+     * @return the progress from 0 to 1, 1 if the map isn't loading
+     */
+    public float getLoadProgress() {
+        return loadProgress;
+    }
+
     /**
      * Find the number of keys in a map.
      * @return number of keys.
      */
     public int findNumberOfKeys() {
-        int numberOfKeys = 0;
-        for (Entity entity: entities){
-            if(entity instanceof Key){
-                numberOfKeys++;
-            }
-        }
         return numberOfKeys;
     }
 }
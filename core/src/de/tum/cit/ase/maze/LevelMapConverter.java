@@ -0,0 +1,54 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * LevelMapConverter class converts level maps from the properties format into the binary format.
+ * Usage: {@code LevelMapConverter [--out DIRECTORY] MAP.properties...},
+ * each map is written next to the input (or into the output directory) with the binary extension.
+ * It works on plain files and doesn't need a running game.
+ */
+public class LevelMapConverter {
+
+    /**
+     * Converts the given maps.
+     * @param args the output directory option and the paths of the maps
+     * @throws IOException when a map can't be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        FileHandle outputDirectory = null;
+        int converted = 0;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--out")) {
+                outputDirectory = new FileHandle(args[++i]);
+                continue;
+            }
+            FileHandle input = new FileHandle(args[i]);
+            FileHandle output = (outputDirectory != null ? outputDirectory : input.parent())
+                    .child(input.nameWithoutExtension() + MapGrid.BINARY_EXTENSION);
+            convert(input, output);
+            System.out.printf("%s (%d bytes) -> %s (%d bytes)%n", input.path(), input.length(),
+                    output.path(), output.length());
+            converted++;
+        }
+        if (converted == 0) {
+            System.err.println("Usage: LevelMapConverter [--out DIRECTORY] MAP.properties...");
+        }
+    }
+
+    /**
+     * Convert one map from the properties format into the binary format.
+     * @param input the map in the properties format
+     * @param output the binary map to write
+     * @throws IOException when the map can't be read or written
+     */
+    public static void convert(FileHandle input, FileHandle output) throws IOException {
+        MapGrid grid = MapGrid.parseProperties(input.read());
+        try (OutputStream stream = output.write(false)) {
+            grid.writeBinary(stream);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.files.FileHandle;
+
+import java.io.IOException;
+
+import de.tum.cit.ase.maze.entity.Wall;
+
+/**
+ * LevelTemplate class is the parsed, immutable form of a level map file.
+ * It lists the cells with a known entity type in row-major order together with the precomputed wall
+ * representations, so a level map can create its entities without parsing or looking at neighbours again.
+ * A template has no entities and no references to the game, so it can be cached and shared between threads.
+ */
+public final class LevelTemplate {
+
+    private static final LevelMap.Type[] TYPES = LevelMap.Type.values();
+    private static final Wall.RepresentationType[] REPRESENTATION_TYPES = Wall.RepresentationType.values();
+    private static final byte NO_REPRESENTATION = -1;
+
+    private final int[] cellCols;
+    private final int[] cellRows;
+    private final byte[] types;
+    private final byte[] wallRepresentations;
+    private final int entryIndex;
+
+    /**
+     * Creates the template from a parsed grid.
+     * @param grid the grid with the type value of each cell
+     */
+    public LevelTemplate(MapGrid grid) {
+        int endCol = grid.getOriginCol() + grid.getColumns();
+        int endRow = grid.getOriginRow() + grid.getRows();
+
+        // Count the cells first, so the arrays have the exact size
+        int count = 0;
+        for (int row = grid.getOriginRow(); row < endRow; row++) {
+            for (int col = grid.getOriginCol(); col < endCol; col++) {
+                if (getType(grid, col, row) != null) {
+                    count++;
+                }
+            }
+        }
+
+        cellCols = new int[count];
+        cellRows = new int[count];
+        types = new byte[count];
+        wallRepresentations = new byte[count];
+
+        int index = 0;
+        int entry = -1;
+        for (int row = grid.getOriginRow(); row < endRow; row++) {
+            for (int col = grid.getOriginCol(); col < endCol; col++) {
+                LevelMap.Type type = getType(grid, col, row);
+                if (type == null) {
+                    continue; // free cell or unknown type
+                }
+                cellCols[index] = col;
+                cellRows[index] = row;
+                types[index] = (byte) type.ordinal();
+                wallRepresentations[index] = type == LevelMap.Type.WALL ?
+                        (byte) getWallRepresentationType(grid, col, row).ordinal() : NO_REPRESENTATION;
+
+                // The player starts at the entry point that is listed first in the map
+                if (type == LevelMap.Type.ENTRY_POINT && grid.hasEntryCell() &&
+                        col == grid.getEntryCol() && row == grid.getEntryRow()) {
+                    entry = index;
+                }
+                index++;
+            }
+        }
+        entryIndex = entry;
+    }
+
+    /**
+     * Parse the map file, either in the properties format or in the binary format.
+     * @param fileHandle the map file
+     * @return the template
+     * @throws IOException when we can't load the map from this fileHandle
+     */
+    public static LevelTemplate load(FileHandle fileHandle) throws IOException {
+        // The format is detected by the content, binary maps start with a magic number
+        MapGrid grid = MapGrid.isBinary(fileHandle) ?
+                MapGrid.readBinary(fileHandle) : MapGrid.parseProperties(fileHandle.read());
+        return new LevelTemplate(grid);
+    }
+
+    /**
+     * Get the entity type of a cell.
+     * @param grid the grid
+     * @param col the column
+     * @param row the row
+     * @return the type, null for a free cell or an unknown type
+     */
+    private static LevelMap.Type getType(MapGrid grid, int col, int row) {
+        int typeValue = grid.get(col, row);
+        return typeValue == MapGrid.EMPTY ? null : LevelMap.Type.valueOf(typeValue);
+    }
+
+    /**
+     * Get the representation of the wall from its neighbours in the grid.
+     * @param grid the grid
+     * @param col the column of the wall
+     * @param row the row of the wall
+     * @return the representation type
+     */
+    private static Wall.RepresentationType getWallRepresentationType(MapGrid grid, int col, int row) {
+        boolean hasLowerWall = isWall(grid, col, row - 1);
+        boolean hasUpperWall = isWall(grid, col, row + 1);
+
+        if (isWater(grid, col, row)) {
+            return Wall.RepresentationType.WATER;
+        } else if (isWater(grid, col, row - 1)) {
+            return Wall.RepresentationType.LOWER_WITHOUT_UPPER; // above water
+        } else if (hasLowerWall && hasUpperWall) {
+            return Wall.RepresentationType.CENTER_WITH_UPPER_AND_LOWER;
+        } else if (hasLowerWall) {
+            return Wall.RepresentationType.UPPER;
+        } else if (hasUpperWall) {
+            return Wall.RepresentationType.LOWER_WITH_UPPER;
+        }
+        return Wall.RepresentationType.LOWER_WITHOUT_UPPER;
+    }
+
+    /**
+     * Check if the cell is a wall.
+     * @param grid the grid
+     * @param col the column
+     * @param row the row
+     * @return true if the cell is a wall
+     */
+    private static boolean isWall(MapGrid grid, int col, int row) {
+        return grid.get(col, row) == LevelMap.Type.WALL.getValue();
+    }
+
+    /**
+     * Check if the cell is inner water, a wall that is surrounded by walls on all eight sides.
+     * @param grid the grid
+     * @param col the column
+     * @param row the row
+     * @return true if the cell is water
+     */
+    private static boolean isWater(MapGrid grid, int col, int row) {
+        return isWall(grid, col, row) &&
+                isWall(grid, col, row - 1) &&
+                isWall(grid, col, row + 1) &&
+                isWall(grid, col - 1, row) &&
+                isWall(grid, col + 1, row) &&
+                isWall(grid, col - 1, row - 1) &&
+                isWall(grid, col + 1, row - 1) &&
+                isWall(grid, col - 1, row + 1) &&
+                isWall(grid, col + 1, row + 1);
+    }
+
+    /**
+     * Get the number of cells with an entity.
+     * @return the number of cells
+     */
+    public int getCellCount() {
+        return types.length;
+    }
+
+    /**
+     * Get the column of a cell.
+     * @param index the cell index, from 0 to getCellCount() - 1
+     * @return the column
+     */
+    public int getCol(int index) {
+        return cellCols[index];
+    }
+
+    /**
+     * Get the row of a cell.
+     * @param index the cell index, from 0 to getCellCount() - 1
+     * @return the row
+     */
+    public int getRow(int index) {
+        return cellRows[index];
+    }
+
+    /**
+     * Get the entity type of a cell.
+     * @param index the cell index, from 0 to getCellCount() - 1
+     * @return the type
+     */
+    public LevelMap.Type getType(int index) {
+        return TYPES[types[index]];
+    }
+
+    /**
+     * Get the wall representation of a cell.
+     * @param index the cell index, from 0 to getCellCount() - 1
+     * @return the representation type, null if the cell isn't a wall
+     */
+    public Wall.RepresentationType getWallRepresentationType(int index) {
+        byte representation = wallRepresentations[index];
+        return representation == NO_REPRESENTATION ? null : REPRESENTATION_TYPES[representation];
+    }
+
+    /**
+     * Get the index of the entry point where the player starts.
+     * @return the cell index, -1 if the map has no entry point
+     */
+    public int getEntryIndex() {
+        return entryIndex;
+    }
+}
@@ -0,0 +1,443 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * MapGrid class is the raw layout of a level map: one type value per cell, or EMPTY for a free cell.
+ * The grid covers the bounding box of all cells in the map file, the origin is the lowest column and row.
+ * It is parsed from the map file without creating strings, so loading is linear in the file size.
+ * The grid also remembers the entry point that is listed first, because the player starts there.
+ * <p>
+ * Besides the properties format, a grid can be stored in a compact binary format (big-endian):
+ * the magic "HPLV", the version, origin column and row, columns, rows, a flag and the entry column and row,
+ * then the cells row by row as runs of (length as unsigned LEB128, value as signed byte).
+ */
+public class MapGrid {
+
+    // Value of a free cell
+    public static final int EMPTY = -1;
+
+    // Largest supported grid, bigger maps are rejected instead of allocating gigabytes
+    private static final long MAX_CELLS = 1L << 26;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // Binary format
+    public static final String BINARY_EXTENSION = ".hplv";
+    private static final int BINARY_MAGIC = 0x48504C56; // "HPLV"
+    private static final int BINARY_VERSION = 1;
+
+    private final int originCol;
+    private final int originRow;
+    private final int columns;
+    private final int rows;
+    private final int[] cells;
+
+    // First listed entry point
+    private boolean hasEntryCell;
+    private int entryCol;
+    private int entryRow;
+
+    /**
+     * Creates an empty grid.
+     * @param originCol the lowest column
+     * @param originRow the lowest row
+     * @param columns the number of columns
+     * @param rows the number of rows
+     */
+    public MapGrid(int originCol, int originRow, int columns, int rows) {
+        this.originCol = originCol;
+        this.originRow = originRow;
+        this.columns = Math.max(columns, 0);
+        this.rows = Math.max(rows, 0);
+        this.cells = new int[this.columns * this.rows];
+        Arrays.fill(cells, EMPTY);
+    }
+
+    /**
+     * Parse the map file in the properties format with "col,row=type" lines.
+     * Other lines, comments and lines with wrong numbers are ignored, a later line for the same cell wins.
+     * @param input the input stream of the map file, closed after reading
+     * @return the grid, with no cells if the file has no valid lines
+     * @throws IOException when the file can't be read or the map is too large
+     */
+    public static MapGrid parseProperties(InputStream input) throws IOException {
+        IntArray entries = new IntArray(3 * 1024); // col, row, type triples in file order
+        int minCol = Integer.MAX_VALUE, minRow = Integer.MAX_VALUE;
+        int maxCol = Integer.MIN_VALUE, maxRow = Integer.MIN_VALUE;
+
+        try (input) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int[] values = new int[3];
+            int valueIndex = 0; // 0 = col, 1 = row, 2 = type
+            int value = 0;
+            boolean negative = false;
+            boolean hasDigits = false;
+            boolean valid = true; // false until the end of the line once the line can't be a cell
+            boolean afterValue = false; // whitespace after the current number
+
+            int length;
+            while ((length = input.read(buffer)) > 0) {
+                for (int i = 0; i < length; i++) {
+                    char c = (char) (buffer[i] & 0xFF);
+                    if (c == '\n' || c == '\r') {
+                        // End of line, store the cell if the line was complete
+                        if (valid && valueIndex == 2 && hasDigits) {
+                            int col = values[0];
+                            int row = values[1];
+                            int type = negative ? -value : value;
+                            entries.add(col, row, type);
+                            minCol = Math.min(minCol, col);
+                            minRow = Math.min(minRow, row);
+                            maxCol = Math.max(maxCol, col);
+                            maxRow = Math.max(maxRow, row);
+                        }
+                        valueIndex = 0;
+                        value = 0;
+                        negative = false;
+                        hasDigits = false;
+                        valid = true;
+                        afterValue = false;
+                        continue;
+                    }
+                    if (!valid) {
+                        continue; // skip the rest of a comment or a wrong line
+                    }
+
+                    if (c >= '0' && c <= '9') {
+                        if (afterValue) {
+                            valid = false; // two numbers without a separator
+                            continue;
+                        }
+                        value = value * 10 + (c - '0');
+                        hasDigits = true;
+                        if (value < 0) {
+                            valid = false; // overflow
+                        }
+                    } else if (c == '-' && !hasDigits && !negative) {
+                        negative = true;
+                    } else if (c == ' ' || c == '\t' || c == '\f') {
+                        if (hasDigits) {
+                            afterValue = true;
+                        } else if (negative) {
+                            valid = false;
+                        }
+                    } else if (c == ',' && valueIndex == 0 && hasDigits) {
+                        values[valueIndex++] = negative ? -value : value;
+                        value = 0;
+                        negative = false;
+                        hasDigits = false;
+                        afterValue = false;
+                    } else if ((c == '=' || c == ':') && valueIndex == 1 && hasDigits) {
+                        values[valueIndex++] = negative ? -value : value;
+                        value = 0;
+                        negative = false;
+                        hasDigits = false;
+                        afterValue = false;
+                    } else {
+                        valid = false; // comment, other key or wrong value
+                    }
+                }
+            }
+            // Last line without a line break
+            if (valid && valueIndex == 2 && hasDigits) {
+                int col = values[0];
+                int row = values[1];
+                entries.add(col, row, negative ? -value : value);
+                minCol = Math.min(minCol, col);
+                minRow = Math.min(minRow, row);
+                maxCol = Math.max(maxCol, col);
+                maxRow = Math.max(maxRow, row);
+            }
+        }
+
+        if (entries.isEmpty()) {
+            return new MapGrid(0, 0, 0, 0);
+        }
+        long columns = (long) maxCol - minCol + 1;
+        long rows = (long) maxRow - minRow + 1;
+        if (columns * rows > MAX_CELLS) {
+            throw new IOException("Map is too large: " + columns + "x" + rows + " cells");
+        }
+
+        MapGrid grid = new MapGrid(minCol, minRow, (int) columns, (int) rows);
+        for (int i = 0; i < entries.size; i += 3) {
+            int col = entries.get(i);
+            int row = entries.get(i + 1);
+            int type = entries.get(i + 2);
+            grid.set(col, row, type);
+            if (type == LevelMap.Type.ENTRY_POINT.getValue() && !grid.hasEntryCell()) {
+                grid.setEntryCell(col, row);
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Check if the file is in the binary format by its first bytes, the file name doesn't matter.
+     * @param fileHandle the map file
+     * @return true if the file starts with the binary magic
+     * @throws IOException when the file can't be read
+     */
+    public static boolean isBinary(FileHandle fileHandle) throws IOException {
+        try (InputStream input = fileHandle.read()) {
+            int magic = 0;
+            for (int i = 0; i < 4; i++) {
+                int b = input.read();
+                if (b < 0) {
+                    return false; // shorter than the magic
+                }
+                magic = (magic << 8) | b;
+            }
+            return magic == BINARY_MAGIC;
+        }
+    }
+
+    /**
+     * Read a map file in the binary format.
+     * Files on the file system are memory mapped, other files (e.g. in the classpath) are read into memory.
+     * @param fileHandle the map file
+     * @return the grid
+     * @throws IOException when the file can't be read or isn't a valid binary map
+     */
+    public static MapGrid readBinary(FileHandle fileHandle) throws IOException {
+        if (fileHandle.type() == Files.FileType.Classpath || fileHandle.type() == Files.FileType.Internal &&
+                !fileHandle.file().exists()) {
+            return readBinary(ByteBuffer.wrap(fileHandle.readBytes()));
+        }
+        try (FileChannel channel = FileChannel.open(fileHandle.file().toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return readBinary(buffer);
+        }
+    }
+
+    /**
+     * Read a map in the binary format.
+     * @param buffer the buffer positioned at the magic
+     * @return the grid
+     * @throws IOException when the buffer doesn't contain a valid binary map
+     */
+    public static MapGrid readBinary(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != BINARY_MAGIC) {
+                throw new IOException("Not a binary level map");
+            }
+            int version = buffer.getInt();
+            if (version != BINARY_VERSION) {
+                throw new IOException("Unsupported binary level map version: " + version);
+            }
+            int originCol = buffer.getInt();
+            int originRow = buffer.getInt();
+            int columns = buffer.getInt();
+            int rows = buffer.getInt();
+            if (columns < 0 || rows < 0 || (long) columns * rows > MAX_CELLS) {
+                throw new IOException("Invalid map size: " + columns + "x" + rows + " cells");
+            }
+            boolean hasEntryCell = buffer.get() != 0;
+            int entryCol = buffer.getInt();
+            int entryRow = buffer.getInt();
+
+            MapGrid grid = new MapGrid(originCol, originRow, columns, rows);
+            if (hasEntryCell) {
+                grid.setEntryCell(entryCol, entryRow);
+            }
+            int[] cells = grid.cells;
+            int index = 0;
+            while (index < cells.length) {
+                int length = readVarInt(buffer);
+                int value = buffer.get();
+                if (length <= 0 || length > cells.length - index) {
+                    throw new IOException("Invalid run length: " + length);
+                }
+                Arrays.fill(cells, index, index + length, value);
+                index += length;
+            }
+            return grid;
+        } catch (BufferUnderflowException exception) {
+            throw new IOException("Binary level map is truncated", exception);
+        }
+    }
+
+    /**
+     * Write the grid in the binary format.
+     * Values that don't fit into a byte aren't map features and are written as EMPTY.
+     * @param output the output stream, not closed
+     * @throws IOException when the stream can't be written
+     */
+    public void writeBinary(OutputStream output) throws IOException {
+        DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(BINARY_MAGIC);
+        data.writeInt(BINARY_VERSION);
+        data.writeInt(originCol);
+        data.writeInt(originRow);
+        data.writeInt(columns);
+        data.writeInt(rows);
+        data.writeByte(hasEntryCell ? 1 : 0);
+        data.writeInt(entryCol);
+        data.writeInt(entryRow);
+
+        int index = 0;
+        while (index < cells.length) {
+            int value = toByteValue(cells[index]);
+            int end = index + 1;
+            while (end < cells.length && toByteValue(cells[end]) == value) {
+                end++;
+            }
+            writeVarInt(data, end - index);
+            data.writeByte(value);
+            index = end;
+        }
+        data.flush();
+    }
+
+    /**
+     * Get the value that is stored in the binary format.
+     * @param value the cell value
+     * @return the value, EMPTY if it doesn't fit into a byte
+     */
+    private static int toByteValue(int value) {
+        return value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE ? value : EMPTY;
+    }
+
+    /**
+     * Read an unsigned LEB128 number.
+     * @param buffer the buffer
+     * @return the number
+     * @throws IOException when the number is longer than an int
+     */
+    private static int readVarInt(ByteBuffer buffer) throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = buffer.get();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Invalid run length encoding");
+    }
+
+    /**
+     * Write an unsigned LEB128 number.
+     * @param output the output
+     * @param value the positive number
+     * @throws IOException when the stream can't be written
+     */
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    /**
+     * Get the value of a cell.
+     * @param col the column
+     * @param row the row
+     * @return the type value, EMPTY for a free cell or a cell outside the grid
+     */
+    public int get(int col, int row) {
+        int localCol = col - originCol;
+        int localRow = row - originRow;
+        if (localCol < 0 || localCol >= columns || localRow < 0 || localRow >= rows) {
+            return EMPTY;
+        }
+        return cells[localRow * columns + localCol];
+    }
+
+    /**
+     * Set the value of a cell inside the grid.
+     * @param col the column
+     * @param row the row
+     * @param value the type value or EMPTY
+     */
+    public void set(int col, int row, int value) {
+        int localCol = col - originCol;
+        int localRow = row - originRow;
+        if (localCol < 0 || localCol >= columns || localRow < 0 || localRow >= rows) {
+            throw new IndexOutOfBoundsException("Cell outside of the grid: " + col + "," + row);
+        }
+        cells[localRow * columns + localCol] = value;
+    }
+
+    /**
+     * Check if the map lists an entry point.
+     * @return true if the entry cell is set
+     */
+    public boolean hasEntryCell() {
+        return hasEntryCell;
+    }
+
+    /**
+     * Set the cell of the entry point where the player starts, if the map has several entry points.
+     * @param col the column
+     * @param row the row
+     */
+    public void setEntryCell(int col, int row) {
+        this.hasEntryCell = true;
+        this.entryCol = col;
+        this.entryRow = row;
+    }
+
+    /**
+     * Get the column of the entry cell.
+     * @return the column
+     */
+    public int getEntryCol() {
+        return entryCol;
+    }
+
+    /**
+     * Get the row of the entry cell.
+     * @return the row
+     */
+    public int getEntryRow() {
+        return entryRow;
+    }
+
+    /**
+     * Get the lowest column.
+     * @return the lowest column
+     */
+    public int getOriginCol() {
+        return originCol;
+    }
+
+    /**
+     * Get the lowest row.
+     * @return the lowest row
+     */
+    public int getOriginRow() {
+        return originRow;
+    }
+
+    /**
+     * Get the number of columns.
+     * @return the number of columns
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Get the number of rows.
+     * @return the number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+}
@@ -2,30 +2,35 @@
 
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.Array;
 
-import com.badlogic.gdx.utils.Disposable;
 import de.tum.cit.ase.maze.screen.ChooseLevelScreen;
 import de.tum.cit.ase.maze.screen.EndGameScreen;
 import de.tum.cit.ase.maze.screen.GameScreen;
+import de.tum.cit.ase.maze.screen.LoadingScreen;
 import de.tum.cit.ase.maze.screen.MenuScreen;
+import de.tum.cit.ase.maze.screen.SplashScreen;
 import games.spooky.gdx.nativefilechooser.NativeFileChooser;
 
-import java.io.IOException;
+import java.lang.management.ManagementFactory;
 
 /**
  * The MazeRunnerGame class represents the core of the Maze Runner game.
@@ -38,6 +43,36 @@ public class MazeRunnerGame extends Game {
     private static final int CELL_HEIGHT = 16;
     private static final String LEVEL_MAP_FORMAT = "maps/level-%d.properties";
 
+    // Assets loaded by the asset manager, the menu assets first
+    private static final String SKIN_FILE = "craft/craftacular-ui.json";
+    // Fonts baked from craft/Magical Font.ttf by the desktop:bakeFonts task, one file per size
+    private static final String TITLE_FONT_FILE = "fonts/magical-font-title.fnt";
+    private static final String BUTTON_FONT_FILE = "fonts/magical-font-button.fnt";
+    private static final String HUD_FONT_FILE = "fonts/magical-font-hud.fnt";
+    private static final String[] SPRITE_SHEET_FILES = {"basictiles.png", "character.png", "objects.png",
+            "mobs.png", "things.png", "key.png", "buttons.png", "clock.png", "potion.png"};
+    private static final String MENU_BACKGROUND_FILE = "backgrounds/menu background.png";
+    private static final String MENU_MUSIC_FILE = "music/Menu Music.mp3";
+
+    // Game assets, loaded behind the menu
+    private static final String KEY_SOUND_FILE = "sound/key.wav";
+    private static final String WIN_SOUND_FILE = "sound/win.mp3";
+    private static final String LOSE_SOUND_FILE = "sound/lose.mp3";
+    private static final String HEAL_SOUND_FILE = "sound/heal.mp3";
+    private static final String SPELL_SOUND_FILE = "sound/expecto_patronum_spell.mp3";
+    private static final String COIN_SOUND_FILE = "sound/coin.mp3";
+    private static final String CLOCK_SOUND_FILE = "sound/clock.mp3";
+    private static final String POTION_SOUND_FILE = "sound/potion.mp3";
+    private static final String HURT_SOUND_FORMAT = "sound/hurt/hurt_%d.mp3";
+    private static final int HURT_SOUND_COUNT = 3;
+    private static final String GAME_MUSIC_FILE = "music/Game Music.mp3";
+    private static final String CHOOSE_LEVEL_BACKGROUND_FILE = "backgrounds/choose level background.png";
+    private static final String WINNING_BACKGROUND_FILE = "backgrounds/winning background.png";
+    private static final String LOSING_BACKGROUND_FILE = "backgrounds/losing background.png";
+
+    // Loading time per frame, the rest of the frame keeps the splash screen and the menu responsive
+    private static final int ASSET_UPDATE_MILLIS = 10;
+
     // Level indices
     private static final int DEFAULT_LEVEL_INDEX = 1;
     private static final int MAX_LEVEL_INDEX = 5;
@@ -47,28 +82,37 @@ public class MazeRunnerGame extends Game {
     private final NativeFileChooser fileChooser;
 
     // Screens
+    private SplashScreen splashScreen;
     private MenuScreen menuScreen;
     private ChooseLevelScreen chooseLevelScreen;
     private GameScreen gameScreen;
     private EndGameScreen endGameScreen;
+    private LoadingScreen loadingScreen;
 
     // Sprite Batch for rendering
     private SpriteBatch spriteBatch;
     private ShapeRenderer shapeRenderer; // only used for debugging boxes
 
+    // Asset loading
+    private AssetManager assetManager;
+    private boolean menuAssetsLoaded;
+    private boolean gameAssetsLoaded;
+    private boolean firstFrameRendered;
+
     // UI Skin
     private Skin skin;
 
-    // Textures
-    Texture basictilesTexture;
-    Texture characterTexture;
-    Texture objectsTexture;
-    Texture mobsTexture;
-    Texture thingsTexture;
-    Texture keyTexture;
-    Texture buttons;
-    Texture clockTexture;
-    Texture potionTexture;
+    // Sprite sheets, packed into one texture atlas
+    TextureAtlas spriteAtlas;
+    TextureRegion basictilesSheet;
+    TextureRegion characterSheet;
+    TextureRegion objectsSheet;
+    TextureRegion mobsSheet;
+    TextureRegion thingsSheet;
+    TextureRegion keySheet;
+    TextureRegion buttonsSheet;
+    TextureRegion clockSheet;
+    TextureRegion potionSheet;
 
     // TextureRegions
     TextureRegion floorTextureRegion;
@@ -104,6 +148,7 @@ public class MazeRunnerGame extends Game {
     Animation<TextureRegion> coinAnimation;
     Animation<TextureRegion> clockAnimation;
     Animation<TextureRegion> potionAnimation;
+    AnimationClocks animationClocks;
 
     // Sounds
     Sound keySound;
@@ -122,11 +167,31 @@ public class MazeRunnerGame extends Game {
 
     // Level map
     LevelMap levelMap;
+    LevelLoader levelLoader;
+    World world;
 
     // Game status
     boolean isPlaying = false;
     boolean isPaused = false;
 
+    // Progress between the last two simulation ticks, used to interpolate positions when drawing
+    float interpolationAlpha = 1f;
+
+    // Profiling of the render calls and texture binds per frame, only enabled with setProfiling
+    private static final float PROFILING_LOG_INTERVAL = 1f;
+    boolean profiling;
+    GLProfiler glProfiler;
+    float profilingLogTime;
+    int lastFrameRenderCalls;
+    int lastFrameTextureBindings;
+    int lastFrameDrawCalls;
+
+    // Update the enemies of crowded maps in parallel, only enabled with setParallelEnemies
+    boolean parallelEnemies;
+
+    // Keep the enemies in an enemy store instead of Enemy entities, only enabled with setEnemyStoreEnabled
+    boolean enemyStoreEnabled;
+
     /**
      * Constructor for MazeRunnerGame.
      * @param fileChooser The file chooser for the game, typically used in desktop environment.
@@ -137,31 +202,109 @@ public MazeRunnerGame(NativeFileChooser fileChooser) {
     }
 
     /**
-     * Called when the game is created. Initializes the SpriteBatch, Skin and all other resources.
+     * Called when the game is created. Initializes the SpriteBatch and starts loading the assets in the background.
+     * The splash screen is shown until the assets of the menu are loaded, the game assets are loaded behind the menu.
      */
     @Override
     public void create() {
+        if (profiling) {
+            glProfiler = new GLProfiler(Gdx.graphics);
+            glProfiler.enable(); // Count the GL calls from now on
+        }
+
         spriteBatch = new SpriteBatch(); // Create SpriteBatch
 
         shapeRenderer = new ShapeRenderer(); // Create ShapeRenderer
         shapeRenderer.setAutoShapeType(true);
 
-        skin = new Skin(Gdx.files.internal("craft/craftacular-ui.json")); // Load UI skin
+        // The asset manager decodes the files on its own thread and uploads the textures in render
+        assetManager = new AssetManager();
+        queueMenuAssets();
+
+        splashScreen = new SplashScreen(this);
+        setScreen(splashScreen);
+    }
 
-        // Load the TTF file for the magical font
-        FreeTypeFontGenerator generator = new FreeTypeFontGenerator(Gdx.files.internal("craft/Magical Font.ttf"));
-        FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
-        parameter.size = 120; // Set the font size for the title
+    /**
+     * Queue the assets that the menu needs: the skin, the fonts, the sprite sheets for the buttons and the menu music.
+     */
+    private void queueMenuAssets() {
+        assetManager.load(SKIN_FILE, Skin.class);
 
-        // Create title font
-        BitmapFont magicalFontTitle = generator.generateFont(parameter);
+        // Title, button and hud font, already rasterized
+        assetManager.load(TITLE_FONT_FILE, BitmapFont.class);
+        assetManager.load(BUTTON_FONT_FILE, BitmapFont.class);
+        assetManager.load(HUD_FONT_FILE, BitmapFont.class);
 
-        // Create button font
-        parameter.size = 40; // Set the font size as needed
-        BitmapFont magicalFontButton = generator.generateFont(parameter);
-        skin.add("magical_font", magicalFontButton); // Add the font to the skin
+        // The sprite sheets are decoded to pixmaps and packed into the atlas when they are loaded
+        for (String fileName: SPRITE_SHEET_FILES) {
+            assetManager.load(fileName, Pixmap.class);
+        }
+
+        assetManager.load(MENU_BACKGROUND_FILE, Texture.class);
+        assetManager.load(MENU_MUSIC_FILE, Music.class);
+    }
+
+    /**
+     * Queue the assets that are only needed in the game and the other screens: sounds, game music and backgrounds.
+     */
+    private void queueGameAssets() {
+        assetManager.load(KEY_SOUND_FILE, Sound.class);
+        assetManager.load(WIN_SOUND_FILE, Sound.class);
+        assetManager.load(LOSE_SOUND_FILE, Sound.class);
+        assetManager.load(HEAL_SOUND_FILE, Sound.class);
+        assetManager.load(SPELL_SOUND_FILE, Sound.class);
+        assetManager.load(COIN_SOUND_FILE, Sound.class);
+        assetManager.load(CLOCK_SOUND_FILE, Sound.class);
+        assetManager.load(POTION_SOUND_FILE, Sound.class);
+        for (int i = 1; i <= HURT_SOUND_COUNT; i++) {
+            assetManager.load(String.format(HURT_SOUND_FORMAT, i), Sound.class);
+        }
+
+        assetManager.load(GAME_MUSIC_FILE, Music.class);
+
+        assetManager.load(CHOOSE_LEVEL_BACKGROUND_FILE, Texture.class);
+        assetManager.load(WINNING_BACKGROUND_FILE, Texture.class);
+        assetManager.load(LOSING_BACKGROUND_FILE, Texture.class);
+    }
+
+    /**
+     * Load assets for a few milliseconds of this frame and continue with the next phase when a phase is loaded.
+     */
+    private void updateAssets() {
+        if (!assetManager.update(ASSET_UPDATE_MILLIS)) {
+            return; // The next frame continues
+        }
+        if (!menuAssetsLoaded) {
+            onMenuAssetsLoaded();
+        } else {
+            onGameAssetsLoaded();
+        }
+    }
 
-        generator.dispose(); // Dispose of the generator
+    /**
+     * Load the remaining assets without waiting for the next frames, when they are needed before they are loaded.
+     */
+    private void finishLoadingAssets() {
+        while (!gameAssetsLoaded) {
+            assetManager.finishLoading();
+            updateAssets();
+        }
+    }
+
+    /**
+     * Set up the skin styles, the sprite atlas and the screens that only need the menu assets, and go to the menu.
+     */
+    private void onMenuAssetsLoaded() {
+        menuAssetsLoaded = true;
+
+        skin = assetManager.get(SKIN_FILE, Skin.class);
+
+        // Title, button and hud font
+        BitmapFont magicalFontTitle = assetManager.get(TITLE_FONT_FILE, BitmapFont.class);
+        BitmapFont magicalFontButton = assetManager.get(BUTTON_FONT_FILE, BitmapFont.class);
+        skin.add("magical_font", magicalFontButton); // Add the font to the skin
+        skin.add("magical_font_hud", assetManager.get(HUD_FONT_FILE, BitmapFont.class)); // Small text in the game
 
         // Create a TextButtonStyle with the magical font for the TextButton
         var labelStyle = new Label.LabelStyle();
@@ -173,26 +316,24 @@ public void create() {
         textButtonStyle.font = magicalFontButton;
         textButtonStyle.fontColor = Color.GOLD;
 
-        // Load textures
-        basictilesTexture = new Texture(Gdx.files.internal("basictiles.png"));
-        characterTexture = new Texture(Gdx.files.internal("character.png"));
-        objectsTexture = new Texture(Gdx.files.internal("objects.png"));
-        mobsTexture = new Texture(Gdx.files.internal("mobs.png"));
-        thingsTexture = new Texture(Gdx.files.internal("things.png"));
-        keyTexture = new Texture(Gdx.files.internal("key.png"));
-        buttons = new Texture(Gdx.files.internal("buttons.png"));
-        clockTexture = new Texture(Gdx.files.internal("clock.png"));
-        potionTexture = new Texture(Gdx.files.internal("potion.png"));
-
-        // Load texture regions
-        floorTextureRegion = new TextureRegion(basictilesTexture, 16, 16 * 8, 16, 16);
-        ladderTextureRegion = new TextureRegion(basictilesTexture, 16, 16 * 7, 16, 16);
-        waterTextureRegion = new TextureRegion(basictilesTexture, 16 * 5, 16, 16, 16);
+        // Pack the sprite sheets into one texture atlas, so drawing doesn't switch textures
+        spriteAtlas = SpriteSheetPacker.pack(assetManager, SPRITE_SHEET_FILES);
+        basictilesSheet = spriteAtlas.findRegion("basictiles");
+        characterSheet = spriteAtlas.findRegion("character");
+        objectsSheet = spriteAtlas.findRegion("objects");
+        mobsSheet = spriteAtlas.findRegion("mobs");
+        thingsSheet = spriteAtlas.findRegion("things");
+        keySheet = spriteAtlas.findRegion("key");
+        buttonsSheet = spriteAtlas.findRegion("buttons");
+        clockSheet = spriteAtlas.findRegion("clock");
+        potionSheet = spriteAtlas.findRegion("potion");
 
         // Load the button texture regions
-        buttonUpTextureRegion = new TextureRegion(buttons, 0, 0, buttons.getWidth(), buttons.getHeight()/3);
-        buttonOverTextureRegion = new TextureRegion(buttons, 0, buttons.getHeight()/3, buttons.getWidth(), buttons.getHeight()/3);
-        buttonDownTextureRegion = new TextureRegion(buttons, 0, buttons.getHeight()/3*2, buttons.getWidth(), buttons.getHeight()/3);
+        int buttonWidth = buttonsSheet.getRegionWidth();
+        int buttonHeight = buttonsSheet.getRegionHeight() / 3;
+        buttonUpTextureRegion = new TextureRegion(buttonsSheet, 0, 0, buttonWidth, buttonHeight);
+        buttonOverTextureRegion = new TextureRegion(buttonsSheet, 0, buttonHeight, buttonWidth, buttonHeight);
+        buttonDownTextureRegion = new TextureRegion(buttonsSheet, 0, buttonHeight * 2, buttonWidth, buttonHeight);
 
         // Set the button style with the pressed, unpressed and hover button images
         textButtonStyle.up = new TextureRegionDrawable(buttonUpTextureRegion);
@@ -204,115 +345,205 @@ public void create() {
         skin.add("button", textButtonStyle); // Add the TextButtonStyle to the skin
         skin.add("title", labelStyle); // Add the LabelStyle to the skin
 
+        loadTextureRegionsAndAnimations();
+
+        // Music
+        menuMusic = assetManager.get(MENU_MUSIC_FILE, Music.class);
+        menuMusic.setLooping(true);
+
+        // Level map and the simulation that runs on it
+        levelMap = new LevelMap(this);
+        levelLoader = new LevelLoader(this);
+        world = new World(this);
+        world.setParallelEnemies(parallelEnemies);
+
+        // Screens that don't need the game assets
+        menuScreen = new MenuScreen(this);
+        gameScreen = new GameScreen(this);
+        loadingScreen = new LoadingScreen(this);
+
+        // The game assets are loaded while the menu is shown
+        queueGameAssets();
+        logStartupTime("Menu assets loaded");
+
+        // Go to the menu
+        goToMenu(); // Navigate to the menu screen
+    }
+
+    /**
+     * Take the sounds and the game music and create the screens that need the other backgrounds.
+     */
+    private void onGameAssetsLoaded() {
+        gameAssetsLoaded = true;
+
+        loadSounds();
+
+        gameMusic = assetManager.get(GAME_MUSIC_FILE, Music.class);
+        gameMusic.setLooping(true);
+
+        chooseLevelScreen = new ChooseLevelScreen(this);
+        endGameScreen = new EndGameScreen(this);
+
+        logStartupTime("All assets loaded");
+    }
+
+    /**
+     * Log a startup event with the time since the start of the JVM.
+     * @param event the startup event
+     */
+    private void logStartupTime(String event) {
+        Gdx.app.log("Startup", event + " after " + ManagementFactory.getRuntimeMXBean().getUptime() + " ms");
+    }
+
+    /**
+     * Creates the game resources that the game logic needs, but without graphics, music and screens.
+     * Texture regions and animations have the same frames as in the real game, but without textures,
+     * so the game logic can run without an OpenGL context, e.g. in benchmarks.
+     * Requires only Gdx.files and Gdx.audio.
+     */
+    public void createHeadless() {
+        loadTextureRegionsAndAnimations();
+        loadSounds();
+
+        // Level map and the simulation that runs on it
+        levelMap = new LevelMap(this);
+        world = new World(this);
+        world.setParallelEnemies(parallelEnemies);
+    }
+
+    /**
+     * Load all texture regions and animations from the loaded sprite sheets.
+     */
+    private void loadTextureRegionsAndAnimations() {
+        // Load texture regions
+        floorTextureRegion = createTextureRegion(basictilesSheet, 16, 16 * 8, 16, 16);
+        ladderTextureRegion = createTextureRegion(basictilesSheet, 16, 16 * 7, 16, 16);
+        waterTextureRegion = createTextureRegion(basictilesSheet, 16 * 5, 16, 16, 16);
+
         // Load texture region arrays
-        wallTextureRegionArray = loadTextureRegionArray(basictilesTexture, 16, 16, 4, 0, 0);
-        healthTextureRegionArray = loadTextureRegionArray(objectsTexture, 16, 16, 5, 16 * 4, 0);
+        wallTextureRegionArray = loadTextureRegionArray(basictilesSheet, 16, 16, 4, 0, 0);
+        healthTextureRegionArray = loadTextureRegionArray(objectsSheet, 16, 16, 5, 16 * 4, 0);
 
         // Load character animations
-        characterDownAnimation = loadAnimation(characterTexture,
+        characterDownAnimation = loadAnimation(characterSheet,
                 16, 32, 4, 0.1f, 0, 0);
-        characterRightAnimation = loadAnimation(characterTexture,
+        characterRightAnimation = loadAnimation(characterSheet,
                 16, 32, 4, 0.1f, 0, 32);
-        characterUpAnimation = loadAnimation(characterTexture,
+        characterUpAnimation = loadAnimation(characterSheet,
                 16, 32, 4, 0.1f, 0, 64);
-        characterLeftAnimation = loadAnimation(characterTexture,
+        characterLeftAnimation = loadAnimation(characterSheet,
                 16, 32, 4, 0.1f, 0, 96);
-        characterAttackDownAnimation = loadAnimation(characterTexture,
+        characterAttackDownAnimation = loadAnimation(characterSheet,
                 16, 32, 4, 0.1f, 0, 128);
-        characterAttackUpAnimation = loadAnimation(characterTexture,
+        characterAttackUpAnimation = loadAnimation(characterSheet,
                 16, 32, 4, 0.1f, 0, 160);
-        characterAttackRightAnimation = loadAnimation(characterTexture,
+        characterAttackRightAnimation = loadAnimation(characterSheet,
                 16, 32, 4, 0.1f, 0, 192);
-        characterAttackLeftAnimation = loadAnimation(characterTexture,
+        characterAttackLeftAnimation = loadAnimation(characterSheet,
                 16, 32, 4, 0.1f, 0, 224);
 
         // Load the enemy animation
-        enemyDownAnimation = loadAnimation(mobsTexture,
+        enemyDownAnimation = loadAnimation(mobsSheet,
                 16, 16, 3, 0.2f, 6 * CELL_WIDTH, 4 * CELL_HEIGHT);
-        enemyLeftAnimation = loadAnimation(mobsTexture,
+        enemyLeftAnimation = loadAnimation(mobsSheet,
                 16, 16, 3, 0.2f, 6 * CELL_WIDTH, 5 * CELL_HEIGHT);
-        enemyRightAnimation = loadAnimation(mobsTexture,
+        enemyRightAnimation = loadAnimation(mobsSheet,
                 16, 16, 3, 0.2f, 6 * CELL_WIDTH, 6 * CELL_HEIGHT);
-        enemyUpAnimation = loadAnimation(mobsTexture,
+        enemyUpAnimation = loadAnimation(mobsSheet,
                 16, 16, 3, 0.2f, 6 * CELL_WIDTH, 7 * CELL_HEIGHT);
 
         // Load the flame animations
-        flameAnimation = loadAnimation(objectsTexture,
+        flameAnimation = loadAnimation(objectsSheet,
                 16, 16, 7, 0.1f, 4 * CELL_WIDTH, 3 * CELL_HEIGHT);
-        yellowFlameAnimation = loadAnimation(thingsTexture,
+        yellowFlameAnimation = loadAnimation(thingsSheet,
                 16, 16, 3, 0.1f, 0, 4 * CELL_HEIGHT);
-        blueFlameAnimation = loadAnimation(thingsTexture,
+        blueFlameAnimation = loadAnimation(thingsSheet,
                 16, 16, 3, 0.1f, 0, 5 * CELL_HEIGHT);
-        redFlameAnimation = loadAnimation(thingsTexture,
+        redFlameAnimation = loadAnimation(thingsSheet,
                 16, 16, 3, 0.1f, 0, 6 * CELL_HEIGHT);
-        greenFlameAnimation = loadAnimation(thingsTexture,
+        greenFlameAnimation = loadAnimation(thingsSheet,
                 16, 16, 3, 0.1f, 0, 7 * CELL_HEIGHT);
 
         // Load the key animation
-        keyAnimation = loadAnimation(keyTexture,
+        keyAnimation = loadAnimation(keySheet,
                 16, 16, 24, 0.05f, 0, 0);
 
         // Load the door animation
-        doorAnimation = loadAnimation(thingsTexture,
+        doorAnimation = loadAnimation(thingsSheet,
                 16, 16, 1, 4, 0.1f, 3 * CELL_WIDTH, 0);
 
         // Load the heart animation
-        heartAnimation = loadAnimation(objectsTexture,
+        heartAnimation = loadAnimation(objectsSheet,
                 16, 16, 4, 0.1f, 0, 3 * CELL_HEIGHT);
 
         // Load the coin animation
-        coinAnimation = loadAnimation(objectsTexture,
+        coinAnimation = loadAnimation(objectsSheet,
                 16, 16, 4, 0.1f, 0, 4 * CELL_HEIGHT);
 
         // Load the clock animation
-        clockAnimation = loadAnimation(clockTexture,
-                clockTexture.getWidth()/15, clockTexture.getHeight(), 15, 0.1f, 0, 0);
+        int clockFrameWidth = clockSheet != null ? clockSheet.getRegionWidth()/15 : 0;
+        int clockFrameHeight = clockSheet != null ? clockSheet.getRegionHeight() : 0;
+        clockAnimation = loadAnimation(clockSheet,
+                clockFrameWidth, clockFrameHeight, 15, 0.1f, 0, 0);
 
         // Load the potion animation
-        potionAnimation = loadAnimation(potionTexture,
+        potionAnimation = loadAnimation(potionSheet,
                 16, 16, 8, 0.1f, 0, 0);
 
+        // Shared clocks of the animations that pickups and traps loop
+        animationClocks = new AnimationClocks();
+        animationClocks.add(flameAnimation);
+        animationClocks.add(yellowFlameAnimation);
+        animationClocks.add(blueFlameAnimation);
+        animationClocks.add(redFlameAnimation);
+        animationClocks.add(greenFlameAnimation);
+        animationClocks.add(keyAnimation);
+        animationClocks.add(heartAnimation);
+        animationClocks.add(coinAnimation);
+        animationClocks.add(clockAnimation);
+        animationClocks.add(potionAnimation);
+    }
+
+    /**
+     * Load all sounds, from the asset manager if the game was created with one.
+     */
+    private void loadSounds() {
         // Sounds
-        keySound = Gdx.audio.newSound(Gdx.files.internal("sound/key.wav"));
-        winSound = Gdx.audio.newSound(Gdx.files.internal("sound/win.mp3"));
-        loseSound = Gdx.audio.newSound(Gdx.files.internal("sound/lose.mp3"));
-        healSound = Gdx.audio.newSound(Gdx.files.internal("sound/heal.mp3"));
-        spellSound = Gdx.audio.newSound(Gdx.files.internal("sound/expecto_patronum_spell.mp3"));
-        coinSound = Gdx.audio.newSound(Gdx.files.internal("sound/coin.mp3"));
-        clockSound = Gdx.audio.newSound(Gdx.files.internal("sound/clock.mp3"));
-        potionSound = Gdx.audio.newSound(Gdx.files.internal("sound/potion.mp3"));
+        keySound = loadSound(KEY_SOUND_FILE);
+        winSound = loadSound(WIN_SOUND_FILE);
+        loseSound = loadSound(LOSE_SOUND_FILE);
+        healSound = loadSound(HEAL_SOUND_FILE);
+        spellSound = loadSound(SPELL_SOUND_FILE);
+        coinSound = loadSound(COIN_SOUND_FILE);
+        clockSound = loadSound(CLOCK_SOUND_FILE);
+        potionSound = loadSound(POTION_SOUND_FILE);
 
         // Hurt sound
         hurtSoundArray = new Array<>();
-        for (int i = 1; i <= 3; i++) {
-            hurtSoundArray.add(Gdx.audio.newSound(Gdx.files.internal(String.format("sound/hurt/hurt_%d.mp3", i))));
+        for (int i = 1; i <= HURT_SOUND_COUNT; i++) {
+            hurtSoundArray.add(loadSound(String.format(HURT_SOUND_FORMAT, i)));
         }
+    }
 
-        // Music
-        menuMusic = Gdx.audio.newMusic(Gdx.files.internal("music/Menu Music.mp3"));
-        menuMusic.setLooping(true);
-
-        gameMusic = Gdx.audio.newMusic(Gdx.files.internal("music/Game Music.mp3"));
-        gameMusic.setLooping(true);
-
-        // Level map
-        levelMap = new LevelMap(this);
-
-        // Screens
-        menuScreen = new MenuScreen(this);
-        chooseLevelScreen = new ChooseLevelScreen(this);
-        gameScreen = new GameScreen(this);
-        endGameScreen = new EndGameScreen(this);
-
-        // Go to the menu
-        goToMenu(); // Navigate to the menu screen
+    /**
+     * Load a sound.
+     * @param fileName the internal sound file
+     * @return the loaded sound, owned by the asset manager if there is one
+     */
+    private Sound loadSound(String fileName) {
+        if (assetManager != null) {
+            return assetManager.get(fileName, Sound.class);
+        }
+        return Gdx.audio.newSound(Gdx.files.internal(fileName)); // headless
     }
 
     /**
      * Plays the menu music and pauses the game music.
      */
     public void playMenuMusic() {
-        gameMusic.pause();
+        if (gameMusic != null) { // null while the game assets are loaded
+            gameMusic.pause();
+        }
         menuMusic.play();
     }
 
@@ -334,6 +565,39 @@ public Sound getEndGameSound(boolean isWinner) {
         return isWinner ? winSound : loseSound;
     }
 
+    /**
+     * Get the background for the end game screen.
+     * @param isWinner indicates game end status
+     * @return the background texture for the end game screen
+     */
+    public Texture getEndGameBackground(boolean isWinner) {
+        return assetManager.get(isWinner ? WINNING_BACKGROUND_FILE : LOSING_BACKGROUND_FILE, Texture.class);
+    }
+
+    /**
+     * Get the background for the menu screen.
+     * @return the background texture for the menu screen
+     */
+    public Texture getMenuBackground() {
+        return assetManager.get(MENU_BACKGROUND_FILE, Texture.class);
+    }
+
+    /**
+     * Get the background for the choose level screen.
+     * @return the background texture for the choose level screen
+     */
+    public Texture getChooseLevelBackground() {
+        return assetManager.get(CHOOSE_LEVEL_BACKGROUND_FILE, Texture.class);
+    }
+
+    /**
+     * Get the loading progress of the queued assets, the menu assets while the splash screen is shown.
+     * @return the progress from 0 to 1
+     */
+    public float getAssetProgress() {
+        return assetManager.getProgress();
+    }
+
     /**
      * Switches to the menu screen.
      */
@@ -346,6 +610,7 @@ public void goToMenu() {
      * Switches to choose level screen.
      */
     public void goToChooseLevel() {
+        finishLoadingAssets(); // The screen is created with the game assets
         setScreen(chooseLevelScreen);
     }
 
@@ -363,22 +628,40 @@ public void goToGame() {
 
     /**
      * Switches to the game screen with the current level index.
+     * The next level is prefetched while this level is played.
      */
     public void goToCurrentLevelIndexGame() {
-        try {
-            isPlaying = true;
-            isPaused = false;
+        loadLevel(Gdx.files.local(String.format(LEVEL_MAP_FORMAT, levelIndex)));
+        if (levelIndex < MAX_LEVEL_INDEX) {
+            levelLoader.prefetch(Gdx.files.local(String.format(LEVEL_MAP_FORMAT, levelIndex + 1)));
+        }
+    }
 
-            gameMusic.play();
-            levelMap.load(String.format(LEVEL_MAP_FORMAT, levelIndex));
-            gameScreen.initializeLevel();
-            setScreen(gameScreen); // Set the current screen to GameScreen
+    /**
+     * Switches to the loading screen and loads the level map in the background.
+     * When the level is loaded, it replaces the current level and the game screen is shown,
+     * if it fails, the game goes back to the menu.
+     * @param fileHandle the level map file
+     */
+    public void loadLevel(FileHandle fileHandle) {
+        isPlaying = false; // The old level can't be continued while it is replaced
+        setScreen(loadingScreen);
+
+        levelLoader.load(fileHandle, new LevelLoader.Callback() {
+            @Override
+            public void onLevelLoaded(LevelMap loadedLevelMap) {
+                levelMap = loadedLevelMap;
+                finishLoadingAssets(); // The game needs its sounds and music
+                gameScreen.initializeLevel();
+                goToGame();
+            }
 
-            playGameMusic();
-        }
-        catch (IOException e) {
-            Gdx.app.log("ERROR", "Failed to load level index: " + levelIndex, e);
-        }
+            @Override
+            public void onLevelLoadFailed(FileHandle fileHandle, Exception exception) {
+                Gdx.app.log("ERROR", "Failed to load level map at: " + fileHandle.path(), exception);
+                goToMenu();
+            }
+        });
     }
 
     /**
@@ -419,6 +702,14 @@ public boolean isPaused() {
         return isPaused;
     }
 
+    /**
+     * Get the asset loading status
+     * @return true if the menu and the game assets are loaded
+     */
+    public boolean isGameAssetsLoaded() {
+        return gameAssetsLoaded;
+    }
+
     /**
      * Get game playing status
      * @return true if the game is playing
@@ -428,8 +719,8 @@ public boolean isPlaying()  {
     }
 
     /**
-     * Load the texture region array of images from texture that stands in one row.
-     * @param texture the texture
+     * Load the texture region array of images from a sprite sheet that stands in one row.
+     * @param sheet the sprite sheet
      * @param frameWidth the frame width
      * @param frameHeight the frame height
      * @param count the count of frames
@@ -437,14 +728,14 @@ public boolean isPlaying()  {
      * @param y the start y position
      * @return array of texture regions
      */
-    private Array<TextureRegion> loadTextureRegionArray(Texture texture, int frameWidth, int frameHeight,
+    private Array<TextureRegion> loadTextureRegionArray(TextureRegion sheet, int frameWidth, int frameHeight,
                                                         int count, int x, int y) {
-        return loadTextureRegionArray(texture, frameWidth, frameHeight, count, 1, x, y);
+        return loadTextureRegionArray(sheet, frameWidth, frameHeight, count, 1, x, y);
     }
 
     /**
-     * Load the texture region array from texture.
-     * @param texture the texture
+     * Load the texture region array from a sprite sheet.
+     * @param sheet the sprite sheet
      * @param frameWidth the frame width
      * @param frameHeight the frame height
      * @param cols the number of columns
@@ -453,20 +744,34 @@ private Array<TextureRegion> loadTextureRegionArray(Texture texture, int frameWi
      * @param y the start y position
      * @return array of texture regions
      */
-    private Array<TextureRegion> loadTextureRegionArray(Texture texture, int frameWidth, int frameHeight,
+    private Array<TextureRegion> loadTextureRegionArray(TextureRegion sheet, int frameWidth, int frameHeight,
                                                         int cols, int rows, int x, int y) {
         Array<TextureRegion> array = new Array<>(TextureRegion.class);
         for (int col = 0; col < cols; col++) {
             for (int row = 0; row < rows; row++) {
-                array.add(new TextureRegion(texture, col * frameWidth + x, row * frameHeight + y, frameWidth, frameHeight));
+                array.add(createTextureRegion(sheet, col * frameWidth + x, row * frameHeight + y, frameWidth, frameHeight));
             }
         }
         return array;
     }
 
     /**
-     * Load animation from texture.
-     * @param texture the texture
+     * Create texture region from a part of a sprite sheet.
+     * Without sprite sheet (headless game) an empty texture region is created.
+     * @param sheet the sprite sheet, null if there are no graphics
+     * @param x the x position
+     * @param y the y position
+     * @param width the width
+     * @param height the height
+     * @return the texture region
+     */
+    private TextureRegion createTextureRegion(TextureRegion sheet, int x, int y, int width, int height) {
+        return sheet != null ? new TextureRegion(sheet, x, y, width, height) : new TextureRegion();
+    }
+
+    /**
+     * Load animation from a sprite sheet.
+     * @param sheet the sprite sheet
      * @param frameWidth the frame width
      * @param frameHeight the frame height
      * @param cols the number of columns
@@ -476,15 +781,15 @@ private Array<TextureRegion> loadTextureRegionArray(Texture texture, int frameWi
      * @param y the start y position
      * @return animation of a texture region
      */
-    private Animation<TextureRegion> loadAnimation(Texture texture, int frameWidth, int frameHeight,
+    private Animation<TextureRegion> loadAnimation(TextureRegion sheet, int frameWidth, int frameHeight,
                                                    int cols, int rows, float frameDuration, int x, int y) {
-        Array<TextureRegion> frames = loadTextureRegionArray(texture, frameWidth, frameHeight, cols, rows, x, y);
+        Array<TextureRegion> frames = loadTextureRegionArray(sheet, frameWidth, frameHeight, cols, rows, x, y);
         return new Animation<>(frameDuration, frames);
     }
 
     /**
-     * Load animation from texture that stands in a row.
-     * @param texture the texture
+     * Load animation from a sprite sheet that stands in a row.
+     * @param sheet the sprite sheet
      * @param frameWidth the frame width
      * @param frameHeight the frame height
      * @param animationFrames the count of animation frames
@@ -493,12 +798,46 @@ private Animation<TextureRegion> loadAnimation(Texture texture, int frameWidth,
      * @param y the start y position
      * @return the animation of texture regions
      */
-    private Animation<TextureRegion> loadAnimation(Texture texture, int frameWidth, int frameHeight,
+    private Animation<TextureRegion> loadAnimation(TextureRegion sheet, int frameWidth, int frameHeight,
                                                    int animationFrames, float frameDuration, int x, int y) {
-        Array<TextureRegion> frames = loadTextureRegionArray(texture, frameWidth, frameHeight, animationFrames, x, y);
+        Array<TextureRegion> frames = loadTextureRegionArray(sheet, frameWidth, frameHeight, animationFrames, x, y);
         return new Animation<>(frameDuration, frames);
     }
 
+    /**
+     * Continues loading the assets, renders the current screen and collects the profiling counters of the frame if profiling is enabled.
+     */
+    @Override
+    public void render() {
+        if (assetManager != null && !gameAssetsLoaded) {
+            updateAssets();
+        }
+
+        int renderCallsBefore = spriteBatch.totalRenderCalls;
+        super.render();
+        if (!firstFrameRendered) {
+            firstFrameRendered = true;
+            logStartupTime("First frame rendered");
+        }
+        if (glProfiler == null) {
+            return;
+        }
+
+        lastFrameRenderCalls = spriteBatch.totalRenderCalls - renderCallsBefore;
+        lastFrameTextureBindings = glProfiler.getTextureBindings();
+        lastFrameDrawCalls = glProfiler.getDrawCalls();
+        glProfiler.reset();
+
+        profilingLogTime += Gdx.graphics.getDeltaTime();
+        if (profilingLogTime >= PROFILING_LOG_INTERVAL) {
+            profilingLogTime = 0;
+            Gdx.app.log("Profiling", "fps: " + Gdx.graphics.getFramesPerSecond() +
+                    ", sprite batch render calls: " + lastFrameRenderCalls +
+                    ", draw calls: " + lastFrameDrawCalls +
+                    ", texture binds: " + lastFrameTextureBindings);
+        }
+    }
+
     /**
      * Cleans up resources when the game is disposed.
      */
@@ -516,40 +855,24 @@ public void dispose() {
         if (chooseLevelScreen != null) {
             chooseLevelScreen.dispose();
         }
+        if (loadingScreen != null) {
+            loadingScreen.dispose();
+        }
+        splashScreen.dispose();
+
+        if (levelLoader != null) {
+            levelLoader.dispose(); // Stop the level loader thread
+        }
 
         spriteBatch.dispose(); // Dispose the spriteBatch
         shapeRenderer.dispose(); // Dispose the shapeRenderer
-        skin.dispose(); // Dispose the skin
 
-        // Dispose textures
-        basictilesTexture.dispose();
-        characterTexture.dispose();
-        objectsTexture.dispose();
-        mobsTexture.dispose();
-        thingsTexture.dispose();
-        keyTexture.dispose();
-
-        // Dispose the hurt sound array
-        disposeArray(hurtSoundArray);
-
-        // Dispose sounds
-        keySound.dispose();
-        winSound.dispose();
-        loseSound.dispose();
-        healSound.dispose();
-        coinSound.dispose();
-        clockSound.dispose();
-        potionSound.dispose();
-    }
-
-    /**
-     * Dispose array.
-     * @param array the array of disposable
-     */
-    private void disposeArray(Array<? extends Disposable> array) {
-        for (Disposable disposable: array) {
-            disposable.dispose();
+        if (spriteAtlas != null) {
+            spriteAtlas.dispose(); // Dispose the textures of the sprite sheets
         }
+
+        // Dispose the skin, the fonts, the backgrounds, the music and the sounds, also if they are still loading
+        assetManager.dispose();
     }
 
     /**
@@ -793,6 +1116,14 @@ public Animation<TextureRegion> getPotionAnimation() {
         return potionAnimation;
     }
 
+    /**
+     * Get the shared clocks of the looping animations.
+     * @return the animation clocks
+     */
+    public AnimationClocks getAnimationClocks() {
+        return animationClocks;
+    }
+
     /**
      * Get the hurt sound array.
      * @return the array of hurt sounds
@@ -873,6 +1204,22 @@ public LevelMap getLevelMap() {
         return levelMap;
     }
 
+    /**
+     * Get the level loader.
+     * @return the level loader, null in the headless game
+     */
+    public LevelLoader getLevelLoader() {
+        return levelLoader;
+    }
+
+    /**
+     * Get the world, the simulation of the current level.
+     * @return the world
+     */
+    public World getWorld() {
+        return world;
+    }
+
     /**
      * Get file chooser.
      * @return the native file chooser
@@ -888,4 +1235,83 @@ public NativeFileChooser getFileChooser() {
     public GameScreen getGameScreen() {
         return gameScreen;
     }
+
+    /**
+     * Enable counting the render calls and texture binds of each frame, they are logged every second.
+     * Has to be set before the game is created.
+     * @param profiling true to enable profiling
+     */
+    public void setProfiling(boolean profiling) {
+        this.profiling = profiling;
+    }
+
+    /**
+     * Enable updating the enemies of crowded maps in parallel batches.
+     * @param parallelEnemies true to update the enemies in parallel
+     */
+    public void setParallelEnemies(boolean parallelEnemies) {
+        this.parallelEnemies = parallelEnemies;
+        if (world != null) {
+            world.setParallelEnemies(parallelEnemies);
+        }
+    }
+
+    /**
+     * Check if the enemies of the loaded levels are kept in an enemy store.
+     * @return true if new level maps keep their enemies in an enemy store
+     */
+    public boolean isEnemyStoreEnabled() {
+        return enemyStoreEnabled;
+    }
+
+    /**
+     * Enable keeping the enemies of the next loaded levels in an enemy store, for huge maps with many enemies.
+     * @param enemyStoreEnabled true to keep the enemies in an enemy store
+     */
+    public void setEnemyStoreEnabled(boolean enemyStoreEnabled) {
+        this.enemyStoreEnabled = enemyStoreEnabled;
+        if (levelMap != null) {
+            levelMap.setEnemyStoreEnabled(enemyStoreEnabled);
+        }
+    }
+
+    /**
+     * Get the number of sprite batch render calls of the last frame.
+     * @return the render calls, 0 if profiling is disabled
+     */
+    public int getLastFrameRenderCalls() {
+        return lastFrameRenderCalls;
+    }
+
+    /**
+     * Get the number of texture binds of the last frame.
+     * @return the texture binds, 0 if profiling is disabled
+     */
+    public int getLastFrameTextureBindings() {
+        return lastFrameTextureBindings;
+    }
+
+    /**
+     * Get the number of GL draw calls of the last frame, including the SpriteCache chunks and the UI.
+     * @return the draw calls, 0 if profiling is disabled
+     */
+    public int getLastFrameDrawCalls() {
+        return lastFrameDrawCalls;
+    }
+
+    /**
+     * Get the interpolation alpha for drawing.
+     * @return progress between the previous and the current simulation tick, from 0 to 1
+     */
+    public float getInterpolationAlpha() {
+        return interpolationAlpha;
+    }
+
+    /**
+     * Set the interpolation alpha for drawing.
+     * @param interpolationAlpha progress between the previous and the current simulation tick, from 0 to 1
+     */
+    public void setInterpolationAlpha(float interpolationAlpha) {
+        this.interpolationAlpha = interpolationAlpha;
+    }
 }
\ No newline at end of file
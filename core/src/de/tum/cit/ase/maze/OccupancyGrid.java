@@ -0,0 +1,114 @@
+package de.tum.cit.ase.maze;
+
+/**
+ * OccupancyGrid class is a compact bitset with one bit per map cell.
+ * It is used to answer "is something blocking this cell" with a few bit lookups.
+ */
+public class OccupancyGrid {
+
+    private final int columns;
+    private final int rows;
+    private final long[] bits;
+    private int version; // changed by every set that changes a bit, so caches can check if the grid changed
+
+    /**
+     * Creates an empty occupancy grid.
+     * @param columns the number of columns
+     * @param rows the number of rows
+     */
+    public OccupancyGrid(int columns, int rows) {
+        this.columns = Math.max(columns, 0);
+        this.rows = Math.max(rows, 0);
+        this.bits = new long[(this.columns * this.rows + 63) >>> 6];
+    }
+
+    /**
+     * Mark cell as occupied or free.
+     * Cells outside the grid are ignored.
+     * @param col the column
+     * @param row the row
+     * @param occupied true if the cell is occupied
+     */
+    public void set(int col, int row, boolean occupied) {
+        if (!contains(col, row)) {
+            return;
+        }
+        int index = row * columns + col;
+        long word = bits[index >>> 6];
+        if (occupied) {
+            bits[index >>> 6] |= 1L << index;
+        } else {
+            bits[index >>> 6] &= ~(1L << index);
+        }
+        if (bits[index >>> 6] != word) {
+            version++;
+        }
+    }
+
+    /**
+     * Check if cell is occupied.
+     * @param col the column
+     * @param row the row
+     * @return true if the cell is inside the grid and occupied
+     */
+    public boolean isOccupied(int col, int row) {
+        if (!contains(col, row)) {
+            return false;
+        }
+        int index = row * columns + col;
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Check if any cell in the inclusive cell range is occupied.
+     * @param startCol the first column
+     * @param startRow the first row
+     * @param endCol the last column
+     * @param endRow the last row
+     * @return true if at least one cell is occupied
+     */
+    public boolean isAnyOccupied(int startCol, int startRow, int endCol, int endRow) {
+        for (int row = startRow; row <= endRow; row++) {
+            for (int col = startCol; col <= endCol; col++) {
+                if (isOccupied(col, row)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if cell is inside the grid.
+     * @param col the column
+     * @param row the row
+     * @return true if the cell is inside the grid
+     */
+    private boolean contains(int col, int row) {
+        return col >= 0 && col < columns && row >= 0 && row < rows;
+    }
+
+    /**
+     * Get the number of columns.
+     * @return the number of columns
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Get the version of the grid, it changes whenever a cell is changed.
+     * @return the version
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the number of rows.
+     * @return the number of rows
+     */
+    public int getRows() {
+        return rows;
+    }
+}
@@ -0,0 +1,183 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+import de.tum.cit.ase.maze.entity.Entity;
+
+/**
+ * SpatialIndex class is a uniform grid that buckets entities by the map cell (col, row) of their position.
+ * It is used to find the entities near a rectangle without scanning the whole map,
+ * so the cost of a query depends on the local density of entities and not on the map size.
+ * Each entity type has its own grid, so a query for some types doesn't visit entities of other types.
+ */
+public class SpatialIndex {
+
+    // Entities are bucketed by their position, but their rectangles can reach into the neighbouring cells
+    private static final int QUERY_MARGIN = 1;
+
+    private final int columns;
+    private final int rows;
+    private final int cellWidth;
+    private final int cellHeight;
+    private final Array<Entity>[][] cells; // [type][cell], the grid of a type is created on first insert
+    private final Array<Array<Entity>> freeCells; // empty buckets, reused when an entity enters an empty cell
+
+    /**
+     * Creates an empty spatial index.
+     * @param columns the number of columns
+     * @param rows the number of rows
+     * @param cellWidth the cell width in pixels
+     * @param cellHeight the cell height in pixels
+     */
+    @SuppressWarnings("unchecked")
+    public SpatialIndex(int columns, int rows, int cellWidth, int cellHeight) {
+        this.columns = Math.max(columns, 1);
+        this.rows = Math.max(rows, 1);
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+        this.cells = (Array<Entity>[][]) new Array<?>[LevelMap.Type.values().length][];
+        this.freeCells = new Array<>(false, 16);
+    }
+
+    /**
+     * Insert entity into the cell of its position.
+     * @param entity the entity
+     */
+    @SuppressWarnings("unchecked")
+    public void insert(Entity entity) {
+        int cellIndex = getCellIndex(entity.getX(), entity.getY());
+        int typeIndex = entity.getType().ordinal();
+        if (cells[typeIndex] == null) {
+            cells[typeIndex] = (Array<Entity>[]) new Array<?>[columns * rows];
+        }
+        Array<Entity> cell = cells[typeIndex][cellIndex];
+        if (cell == null) {
+            cell = freeCells.isEmpty() ? new Array<>(false, 4) : freeCells.pop();
+            cells[typeIndex][cellIndex] = cell;
+        }
+        cell.add(entity);
+        entity.setCellIndex(cellIndex);
+    }
+
+    /**
+     * Remove entity from the index. An emptied cell gives its bucket back for the next cell that gets an entity,
+     * so moving entities don't allocate new buckets once enough of them exist.
+     * @param entity the entity
+     */
+    public void remove(Entity entity) {
+        int cellIndex = entity.getCellIndex();
+        if (cellIndex < 0) {
+            return; // not indexed
+        }
+        Array<Entity>[] typeCells = cells[entity.getType().ordinal()];
+        Array<Entity> cell = typeCells[cellIndex];
+        if (cell != null) {
+            cell.removeValue(entity, true);
+            if (cell.isEmpty()) {
+                typeCells[cellIndex] = null;
+                freeCells.add(cell);
+            }
+        }
+        entity.setCellIndex(-1);
+    }
+
+    /**
+     * Move entity to another cell if its position has changed the cell.
+     * @param entity the entity
+     */
+    public void update(Entity entity) {
+        int oldCellIndex = entity.getCellIndex();
+        if (oldCellIndex < 0) {
+            return; // not indexed
+        }
+        int newCellIndex = getCellIndex(entity.getX(), entity.getY());
+        if (newCellIndex != oldCellIndex) {
+            remove(entity);
+            insert(entity);
+        }
+    }
+
+    /**
+     * Collect the entities of the given types from the cells that the rectangle touches.
+     * This is a broad phase, the caller still has to check the exact intersection.
+     * @param rectangle the rectangle in pixels
+     * @param typeMask the types to collect, see {@link LevelMap.Type#getMask()}
+     * @param result the array where found entities are added
+     * @return the result array
+     */
+    public Array<Entity> queryRect(Rectangle rectangle, int typeMask, Array<Entity> result) {
+        int startCol = clampColumn((int) Math.floor(rectangle.x / cellWidth) - QUERY_MARGIN);
+        int endCol = clampColumn((int) Math.floor((rectangle.x + rectangle.width) / cellWidth) + QUERY_MARGIN);
+        int startRow = clampRow((int) Math.floor(rectangle.y / cellHeight) - QUERY_MARGIN);
+        int endRow = clampRow((int) Math.floor((rectangle.y + rectangle.height) / cellHeight) + QUERY_MARGIN);
+
+        for (int typeIndex = 0; typeIndex < cells.length; typeIndex++) {
+            Array<Entity>[] typeCells = cells[typeIndex];
+            if (typeCells == null || (typeMask & (1 << typeIndex)) == 0) {
+                continue; // no entities of this type or not requested
+            }
+            for (int row = startRow; row <= endRow; row++) {
+                for (int col = startCol; col <= endCol; col++) {
+                    Array<Entity> cell = typeCells[row * columns + col];
+                    if (cell != null) {
+                        result.addAll(cell);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Collect entities of the given types in the cells that overlap the rectangle, row by row from the top row down.
+     * The result is sorted by the cell row of the entities, which is kept up to date when entities move.
+     * @param rectangle the rectangle in pixels
+     * @param typeMask the types to collect, see {@link LevelMap.Type#getMask()}
+     * @param result the array where found entities are added
+     * @return the result array
+     */
+    public Array<Entity> queryRectByRow(Rectangle rectangle, int typeMask, Array<Entity> result) {
+        int startCol = clampColumn((int) Math.floor(rectangle.x / cellWidth) - QUERY_MARGIN);
+        int endCol = clampColumn((int) Math.floor((rectangle.x + rectangle.width) / cellWidth) + QUERY_MARGIN);
+        int startRow = clampRow((int) Math.floor(rectangle.y / cellHeight) - QUERY_MARGIN);
+        int endRow = clampRow((int) Math.floor((rectangle.y + rectangle.height) / cellHeight) + QUERY_MARGIN);
+
+        for (int row = endRow; row >= startRow; row--) {
+            for (int typeIndex = 0; typeIndex < cells.length; typeIndex++) {
+                Array<Entity>[] typeCells = cells[typeIndex];
+                if (typeCells == null || (typeMask & (1 << typeIndex)) == 0) {
+                    continue; // no entities of this type or not requested
+                }
+                for (int col = startCol; col <= endCol; col++) {
+                    Array<Entity> cell = typeCells[row * columns + col];
+                    if (cell != null) {
+                        result.addAll(cell);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get cell index for the position.
+     * Positions outside the grid are clamped to the border cells.
+     * @param x the x position in pixels
+     * @param y the y position in pixels
+     * @return the cell index
+     */
+    private int getCellIndex(float x, float y) {
+        int col = clampColumn((int) Math.floor(x / cellWidth));
+        int row = clampRow((int) Math.floor(y / cellHeight));
+        return row * columns + col;
+    }
+
+    private int clampColumn(int col) {
+        return Math.max(0, Math.min(col, columns - 1));
+    }
+
+    private int clampRow(int row) {
+        return Math.max(0, Math.min(row, rows - 1));
+    }
+}
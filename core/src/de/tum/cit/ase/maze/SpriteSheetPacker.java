@@ -0,0 +1,44 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+
+/**
+ * SpriteSheetPacker class packs whole sprite sheets into the pages of one texture atlas when the game starts.
+ * Each sheet becomes a region named after its file, and the frames are cut out of that region as before,
+ * so sprites from different sheets share a texture and the sprite batch doesn't flush between them.
+ */
+public class SpriteSheetPacker {
+
+    // Large enough for all sheets of the game on one page, more pages are added if needed
+    private static final int PAGE_SIZE = 1024;
+    private static final int PADDING = 2; // pixels between the sheets
+
+    private SpriteSheetPacker() {
+    }
+
+    /**
+     * Pack the sprite sheets into a texture atlas.
+     * The sheets are decoded as pixmaps by the asset manager in the background, they are unloaded after packing.
+     * @param assetManager the asset manager that has loaded the sheets as pixmaps
+     * @param fileNames the png files of the sprite sheets
+     * @return the atlas with one region per sheet, named after the file without extension
+     */
+    public static TextureAtlas pack(AssetManager assetManager, String... fileNames) {
+        PixmapPacker packer = new PixmapPacker(PAGE_SIZE, PAGE_SIZE, Pixmap.Format.RGBA8888, PADDING, false);
+        for (String fileName: fileNames) {
+            Pixmap pixmap = assetManager.get(fileName, Pixmap.class);
+            packer.pack(Gdx.files.internal(fileName).nameWithoutExtension(), pixmap);
+            assetManager.unload(fileName); // copied into the page
+        }
+
+        // Pixel art, so no filtering and no mipmaps
+        TextureAtlas atlas = packer.generateTextureAtlas(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest, false);
+        packer.dispose(); // the pages with a texture are kept until the atlas is disposed
+        return atlas;
+    }
+}
@@ -0,0 +1,298 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+import de.tum.cit.ase.maze.entity.*;
+
+/**
+ * World class contains the game simulation of one level:
+ * the level map, the player, the timer and the rules for winning and losing.
+ * It doesn't draw, poll input or play sounds, so it can run without an OpenGL context.
+ * The player is controlled with a bit mask of the pressed controls,
+ * and sounds and other feedback are reported to a listener as events.
+ */
+public class World {
+
+    /**
+     * State enum describes if the level is still played or how it ended.
+     */
+    public enum State {
+        RUNNING,
+        WON,
+        LOST
+    }
+
+    /**
+     * Event enum provides a list of everything in the simulation that the player should notice.
+     */
+    public enum Event {
+        KEY_COLLECTED,
+        HEART_COLLECTED,
+        COIN_COLLECTED,
+        CLOCK_COLLECTED,
+        POTION_COLLECTED,
+        ENEMY_KILLED,
+        PLAYER_HURT
+    }
+
+    /**
+     * Listener interface receives the events of the world, e.g. to play sounds.
+     */
+    public interface Listener {
+
+        /**
+         * Called when an event happens during a tick.
+         * @param event the event
+         */
+        void onEvent(Event event);
+    }
+
+    // World set up
+    private static final int CELL_WIDTH = 16;
+    private static final int CELL_HEIGHT = 16;
+    private static final float DEFAULT_TIME = 300f;
+    private static final int DEFAULT_CHASE_DISTANCE = 12; // in cells, enemies further away keep roaming
+
+    private final MazeRunnerGame game;
+    private LevelMap levelMap;
+
+    private Player player;
+    private float timeLeft;
+    private State state;
+    private long tickCount;
+    private Listener listener;
+
+    // Distances to the player, shared by all chasing enemies
+    private final FlowField flowField;
+
+    // Update the enemies of crowded maps in parallel batches
+    private boolean parallelEnemies;
+    private boolean parallelEnemiesForced; // also with few enemies or one core, to measure the parallel update
+
+    /**
+     * Creates the world for the level map of the game.
+     * @param game the game instance
+     */
+    public World(MazeRunnerGame game) {
+        this.game = game;
+        this.state = State.LOST;
+        this.flowField = new FlowField(DEFAULT_CHASE_DISTANCE);
+    }
+
+    /**
+     * Start the level that is loaded in the level map of the game.
+     * Creates the player at the entry point and resets the timer.
+     */
+    public void initialize() {
+        levelMap = game.getLevelMap();
+        EntryPoint entryPoint = levelMap.findEntryPoint();
+
+        float mapCenterX = levelMap.getMapWidth() / 2;
+        float mapCenterY = levelMap.getMapHeight() / 2;
+
+        player = new Player(game);
+        player.setX(entryPoint != null ? entryPoint.getX() + CELL_WIDTH / 2f : mapCenterX);
+        player.setY(entryPoint != null ? entryPoint.getY() + CELL_HEIGHT / 2f : mapCenterY);
+
+        timeLeft = DEFAULT_TIME;
+        state = State.RUNNING;
+        tickCount = 0;
+        game.getAnimationClocks().reset(); // Animations start with the level
+    }
+
+    /**
+     * Run one simulation tick: timer, entities, player, exit checks and removal of despawned entities.
+     * Does nothing if the level has ended.
+     * @param delta the tick duration in seconds
+     */
+    public void tick(float delta) {
+        if (state != State.RUNNING) {
+            return;
+        }
+        tickCount++;
+
+        if (timeLeft > 0) {
+            timeLeft -= delta; // Update timer
+        } else {
+            state = State.LOST; // Time is up and the player loses
+            return;
+        }
+
+        // Advance the animations of pickups and traps once for all of them
+        game.getAnimationClocks().update(delta);
+
+        // Search the way to the player only when the player enters another cell, the enemies just read it
+        flowField.update(levelMap.getWallGrid(), (int) Math.floor(player.getX() / CELL_WIDTH),
+                (int) Math.floor(player.getY() / CELL_HEIGHT));
+
+        // Update only the active entities, enemies and opening exits, the cost doesn't depend on the idle ones.
+        // Backwards, so an exit can deactivate itself when it is open.
+        // Removed entities are only despawned until the end of the tick.
+        // On crowded maps the enemies are skipped here and updated in parallel afterwards.
+        boolean enemiesInParallel = parallelEnemiesForced ||
+                parallelEnemies && EnemyUpdater.isWorthwhile(levelMap.getEntities(LevelMap.Type.ENEMY).size);
+        Array<UpdatableEntity> activeEntities = levelMap.getActiveEntities();
+        for (int i = activeEntities.size - 1; i >= 0; i--) {
+            UpdatableEntity entity = activeEntities.get(i);
+            if (!entity.isDespawnPending() && !(enemiesInParallel && entity instanceof Enemy)) {
+                entity.update(delta);
+            }
+        }
+        if (enemiesInParallel) {
+            EnemyUpdater.update(levelMap, delta);
+        }
+
+        // Enemies kept in columns are updated in one loop over the store
+        EnemyStore enemyStore = levelMap.getEnemyStore();
+        if (enemyStore != null) {
+            enemyStore.update(delta, levelMap, flowField);
+        }
+        player.update(delta);
+
+        // Check player collision with exit
+        Rectangle playerRectangle = player.getEntityRectangle();
+        Array<Entity> exits = levelMap.getEntities(LevelMap.Type.EXIT);
+        for (int i = 0; i < exits.size; i++) {
+            Exit exit = (Exit) exits.get(i);
+            if (exit.isOpen() && Intersector.overlaps(playerRectangle, exit.getExitRectangle())) {
+                state = State.WON;
+            } else if (player.isHasAtLeastHalfOfKeys() && (player.getKillCount() > 0) && Intersector.overlaps(playerRectangle, exit.getActionRectangle())) {
+                exit.open();
+            }
+        }
+
+        // Remove entities that were despawned during this tick
+        levelMap.flushDespawned();
+
+        // Check player health
+        if (state == State.RUNNING && player.getHealth() <= 0) {
+            state = State.LOST;
+        }
+    }
+
+    /**
+     * Report an event to the listener.
+     * @param event the event
+     */
+    public void fireEvent(Event event) {
+        if (listener != null) {
+            listener.onEvent(event);
+        }
+    }
+
+    /**
+     * Set the pressed controls of the player for the next ticks.
+     * @param controls combined Player.CONTROL_* bits
+     */
+    public void setControls(int controls) {
+        player.setControls(controls);
+    }
+
+    /**
+     * Add time to the timer.
+     * @param seconds the time in seconds
+     */
+    public void addTime(float seconds) {
+        timeLeft += seconds;
+    }
+
+    /**
+     * Get level map.
+     * @return the level map, null before the first level was initialized
+     */
+    public LevelMap getLevelMap() {
+        return levelMap;
+    }
+
+    /**
+     * Get player.
+     * @return the player, null before the first level was initialized
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Get the flow field with the distances to the player, used by the enemies to chase the player.
+     * @return the flow field
+     */
+    public FlowField getFlowField() {
+        return flowField;
+    }
+
+    /**
+     * Set how close the player has to be for the enemies to chase him.
+     * @param cells the distance in cells along the free cells, 0 turns the chase off
+     */
+    public void setChaseDistance(int cells) {
+        flowField.setMaxDistance(cells);
+    }
+
+    /**
+     * Check if the enemies of crowded maps are updated in parallel.
+     * @return true if the enemies are updated in parallel
+     */
+    public boolean isParallelEnemies() {
+        return parallelEnemies;
+    }
+
+    /**
+     * Set if the enemies of crowded maps are updated in parallel.
+     * The enemies end up in the same positions as with the update on one thread.
+     * @param parallelEnemies true to update the enemies in parallel batches
+     */
+    public void setParallelEnemies(boolean parallelEnemies) {
+        this.parallelEnemies = parallelEnemies;
+    }
+
+    /**
+     * Set if the enemies are always updated in parallel, even when it is slower than the update on one thread:
+     * with few enemies or on one core. Used by the benchmarks to measure the parallel update on any machine.
+     * @param parallelEnemiesForced true to always update the enemies in parallel batches
+     */
+    public void setParallelEnemiesForced(boolean parallelEnemiesForced) {
+        this.parallelEnemiesForced = parallelEnemiesForced;
+    }
+
+    /**
+     * Get the time left of the timer.
+     * @return the time left in seconds
+     */
+    public float getTimeLeft() {
+        return timeLeft;
+    }
+
+    /**
+     * Set the time left of the timer.
+     * @param timeLeft the time left in seconds
+     */
+    public void setTimeLeft(float timeLeft) {
+        this.timeLeft = timeLeft;
+    }
+
+    /**
+     * Get the state of the level.
+     * @return the state
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Get the number of ticks since the level was initialized.
+     * @return the tick count
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Set the listener for the events.
+     * @param listener the listener, null to ignore the events
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+}
@@ -0,0 +1,54 @@
+package de.tum.cit.ase.maze.entity;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+
+import de.tum.cit.ase.maze.AnimationClock;
+import de.tum.cit.ase.maze.MazeRunnerGame;
+
+/**
+ * AnimatedEntity class is the parent class of all game objects that only loop an animation, like pickups and traps.
+ * All entities of an animation share its clock, so they aren't updated every tick,
+ * the frame is looked up from the clock when the entity is drawn.
+ */
+public class AnimatedEntity extends Entity {
+
+    private final AnimationClock clock;
+    private float phase;
+
+    /**
+     * Creates one animated entity that shows the first frame until it is drawn.
+     * @param game the main game
+     * @param clock the shared clock of the animation
+     */
+    public AnimatedEntity(MazeRunnerGame game, AnimationClock clock) {
+        super(game);
+        this.clock = clock;
+        setTextureRegion(clock.getAnimation().getKeyFrames()[0]);
+    }
+
+    /**
+     * Draws the current frame of the animation.
+     * @param batch the sprite batch, that is used to draw
+     */
+    @Override
+    public void draw(SpriteBatch batch) {
+        setTextureRegion(clock.getKeyFrame(phase));
+        super.draw(batch);
+    }
+
+    /**
+     * Get the phase offset.
+     * @return the time in seconds that this entity is ahead of the shared clock
+     */
+    public float getPhase() {
+        return phase;
+    }
+
+    /**
+     * Set the phase offset, so this entity doesn't show the same frame as all others.
+     * @param phase the time in seconds that this entity is ahead of the shared clock
+     */
+    public void setPhase(float phase) {
+        this.phase = phase;
+    }
+}
@@ -4,11 +4,13 @@
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 import java.util.Random;
+import de.tum.cit.ase.maze.FlowField;
 import de.tum.cit.ase.maze.MazeRunnerGame;
 
 /**
  * Enemy class represents enemy entity, which is movable and updatable.
- * It moves in random directions.
+ * It moves in random directions, and chases the player cell by cell along the flow field of the world
+ * when the player is close enough.
  */
 public class Enemy extends MovableEntity {
 
@@ -28,6 +30,7 @@ public class Enemy extends MovableEntity {
     // Destination position
     private float destX;
     private float destY;
+    private boolean wander; // true after a blocked chase step, the next move is random
 
     /**
      * Creates one new enemy.
@@ -49,7 +52,7 @@ public Enemy(MazeRunnerGame game) {
     }
 
     /**
-     * Updates the enemy animation and moves it in random directions.
+     * Updates the enemy animation and moves it towards the player or in random directions.
      * @param delta time since last update
      */
     @Override
@@ -59,31 +62,44 @@ public void update(float delta) {
 
         // check if destination position equals actual position
         if (Math.abs(destX - getX()) < DEST_ACCURACY && Math.abs(destY - getY()) < DEST_ACCURACY) {
-            int sign = random.nextBoolean() ? 1 : -1; // random sign
-            if (random.nextBoolean()) {
-                destX = getX() + sign * DEFAULT_MOVE_LENGTH;
-                destY = getY();
-            }
-            else {
-                destY = getY() + sign * DEFAULT_MOVE_LENGTH;
-                destX = getX();
+            if (wander || !setChaseDestination()) {
+                wander = false;
+                int sign = random.nextBoolean() ? 1 : -1; // random sign
+                if (random.nextBoolean()) {
+                    destX = getX() + sign * DEFAULT_MOVE_LENGTH;
+                    destY = getY();
+                }
+                else {
+                    destY = getY() + sign * DEFAULT_MOVE_LENGTH;
+                    destX = getX();
+                }
             }
         }
 
-        boolean moveResult = true;
         // move enemy in the direction of destination position
-        if (destX < getX()) {
-            moveResult = moveLeft(delta);
-        } else if (destX > getX()) {
-            moveResult = moveRight(delta);
-        } else if (destY < getY()) {
-            moveResult = moveDown(delta);
-        } else if (destY > getY()) {
-            moveResult = moveUp(delta);
-        }
+        boolean moveResult = moveTowards(destX, destY, delta);
 
         // If it cannot move than reset destination position
-        if (!moveResult) resetDestPosition();
+        if (!moveResult) {
+            wander = true; // e.g. a closed exit that isn't in the flow field
+            resetDestPosition();
+        }
+    }
+
+    /**
+     * Set the destination position to the next cell on the way to the player, if the player is close enough.
+     * Only the distances of the neighbour cells are read, the way is searched once per tick by the world.
+     * @return true if the enemy chases the player
+     */
+    private boolean setChaseDestination() {
+        FlowField flowField = getGame().getWorld().getFlowField();
+        int cell = flowField.getChaseCell(getX(), getY());
+        if (cell < 0) {
+            return false;
+        }
+        destX = flowField.getCellX(cell);
+        destY = flowField.getCellY(cell);
+        return true;
     }
 
     /**
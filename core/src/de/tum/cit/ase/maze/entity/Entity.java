@@ -4,6 +4,7 @@
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
 import com.badlogic.gdx.math.Rectangle;
+import de.tum.cit.ase.maze.LevelMap;
 import de.tum.cit.ase.maze.MazeRunnerGame;
 
 /**
@@ -21,6 +22,15 @@ public class Entity {
     TextureRegion textureRegion;
     float x, y;
     float xDrawOffset, yDrawOffset;
+    LevelMap.Type type; // map feature type, set when the entity is added to the level map
+    int cellIndex = -1; // cell in the spatial index of the level map, -1 if not indexed
+    int slotIndex = -1; // index in the entity array of the level map, -1 if not on a map
+    int typeSlotIndex = -1; // index in the entity array of its type
+    boolean despawnPending; // removed from the map at the end of the frame
+
+    // Hit box, refreshed only after the position or the state has changed
+    private final Rectangle bounds = new Rectangle();
+    private boolean boundsDirty = true;
 
     /**
      * Creates one entity.
@@ -38,11 +48,36 @@ public Entity(MazeRunnerGame game) {
      */
     public void draw(SpriteBatch batch) {
         if (textureRegion != null) {
-            batch.draw(textureRegion, x + xDrawOffset, y + yDrawOffset,
+            batch.draw(textureRegion, getDrawX() + xDrawOffset, getDrawY() + yDrawOffset,
                     textureRegion.getRegionWidth(), textureRegion.getRegionHeight());
         }
     }
 
+    /**
+     * Get x position where the entity is drawn.
+     * @return the x position in float
+     */
+    protected float getDrawX() {
+        return x;
+    }
+
+    /**
+     * Get y position where the entity is drawn.
+     * @return the y position in float
+     */
+    protected float getDrawY() {
+        return y;
+    }
+
+    /**
+     * Get the y position of the lower edge of the drawn sprite.
+     * Entities with a lower edge further down are in front and are drawn later.
+     * @return the y position in float
+     */
+    public float getDepthY() {
+        return getDrawY() + yDrawOffset;
+    }
+
     /**
      * Sets draw offset to draw along the middle coordinates.
      */
@@ -53,23 +88,56 @@ public void centerDrawOffset() {
 
     // Getter & Setter methods
     /**
-     * Get entity rectangle with paddings.
-     * Used to calculate collisions or other actions.
+     * Get a new entity rectangle with paddings.
+     * Allocates a new rectangle, use fillEntityRectangle in frequently called code.
      * @param padding the padding in pixels
      * @return rectangle with paddings
      */
     public Rectangle getEntityRectangle(float padding) {
-        return new Rectangle(getX() - padding, getY() - padding,
-                CELL_WIDTH + padding * 2, CELL_HEIGHT + padding * 2);
+        return fillEntityRectangle(new Rectangle(), padding);
     }
 
     /**
      * Get entity default rectangle with DEFAULT PADDINGS which is -1.
      * Used to calculate collisions or other actions.
+     * The rectangle is owned by the entity and reused, so it must not be changed by the caller.
      * @return rectangle with DEFAULT PADDINGS
      */
     public Rectangle getEntityRectangle() {
-        return getEntityRectangle(DEFAULT_PADDING);
+        if (boundsDirty) {
+            fillEntityRectangle(bounds);
+            boundsDirty = false;
+        }
+        return bounds;
+    }
+
+    /**
+     * Mark the cached rectangles as outdated.
+     * Must be called whenever the position or a state that changes the hit box has changed.
+     */
+    protected void invalidateBounds() {
+        boundsDirty = true;
+    }
+
+    /**
+     * Write entity rectangle with paddings into the given rectangle without allocating a new one.
+     * @param rectangle the rectangle to write to
+     * @param padding the padding in pixels
+     * @return the given rectangle
+     */
+    public Rectangle fillEntityRectangle(Rectangle rectangle, float padding) {
+        return rectangle.set(getX() - padding, getY() - padding,
+                CELL_WIDTH + padding * 2, CELL_HEIGHT + padding * 2);
+    }
+
+    /**
+     * Write entity default rectangle into the given rectangle without allocating a new one.
+     * Subclasses with a different hit box override this method.
+     * @param rectangle the rectangle to write to
+     * @return the given rectangle
+     */
+    public Rectangle fillEntityRectangle(Rectangle rectangle) {
+        return fillEntityRectangle(rectangle, DEFAULT_PADDING);
     }
 
     /**
@@ -86,6 +154,7 @@ public float getX() {
      */
     public void setX(float x) {
         this.x = x;
+        invalidateBounds();
     }
 
     /**
@@ -102,6 +171,7 @@ public float getY() {
      */
     public void setY(float y) {
         this.y = y;
+        invalidateBounds();
     }
 
     /**
@@ -120,6 +190,91 @@ public void setTextureRegion(TextureRegion textureRegion) {
         this.textureRegion = textureRegion;
     }
 
+    /**
+     * Get the map feature type.
+     * @return the type, null if the entity wasn't added to a level map
+     */
+    public LevelMap.Type getType() {
+        return type;
+    }
+
+    /**
+     * Set the map feature type.
+     * Should only be called by the level map.
+     * @param type the type
+     */
+    public void setType(LevelMap.Type type) {
+        this.type = type;
+    }
+
+    /**
+     * Get the cell index in the spatial index of the level map.
+     * @return the cell index, -1 if the entity isn't indexed
+     */
+    public int getCellIndex() {
+        return cellIndex;
+    }
+
+    /**
+     * Set the cell index in the spatial index of the level map.
+     * Should only be called by the spatial index.
+     * @param cellIndex the cell index
+     */
+    public void setCellIndex(int cellIndex) {
+        this.cellIndex = cellIndex;
+    }
+
+    /**
+     * Get the index in the entity array of the level map.
+     * @return the slot index, -1 if the entity isn't on a map
+     */
+    public int getSlotIndex() {
+        return slotIndex;
+    }
+
+    /**
+     * Set the index in the entity array of the level map.
+     * Should only be called by the level map.
+     * @param slotIndex the slot index
+     */
+    public void setSlotIndex(int slotIndex) {
+        this.slotIndex = slotIndex;
+    }
+
+    /**
+     * Get the index in the entity array of its type.
+     * @return the type slot index, -1 if the entity isn't on a map
+     */
+    public int getTypeSlotIndex() {
+        return typeSlotIndex;
+    }
+
+    /**
+     * Set the index in the entity array of its type.
+     * Should only be called by the level map.
+     * @param typeSlotIndex the type slot index
+     */
+    public void setTypeSlotIndex(int typeSlotIndex) {
+        this.typeSlotIndex = typeSlotIndex;
+    }
+
+    /**
+     * Check if the entity waits to be removed from the level map.
+     * @return true if the entity was despawned this frame
+     */
+    public boolean isDespawnPending() {
+        return despawnPending;
+    }
+
+    /**
+     * Mark the entity as waiting to be removed from the level map.
+     * Should only be called by the level map.
+     * @param despawnPending true if the entity waits to be removed
+     */
+    public void setDespawnPending(boolean despawnPending) {
+        this.despawnPending = despawnPending;
+    }
+
     /**
      * Get game instance.
      * @return the game instance
@@ -17,6 +17,11 @@ public class Exit extends UpdatableEntity {
     private final Animation<TextureRegion> animation;
     private boolean isOpening;
 
+    // Cached action and exit rectangles
+    private final Rectangle actionRectangle;
+    private final Rectangle exitRectangle;
+    private boolean rectanglesDirty;
+
     /**
      * Create one new Exit.
      * @param game the main game
@@ -25,6 +30,9 @@ public Exit(MazeRunnerGame game) {
         super(game);
         animation = game.getDoorAnimation();
         isOpening = false;
+        actionRectangle = new Rectangle();
+        exitRectangle = new Rectangle();
+        rectanglesDirty = true;
         setTextureRegion(animation.getKeyFrames()[0]);
     }
 
@@ -37,6 +45,10 @@ public void update(float delta) {
         if (isOpening) {
             super.update(delta);
             setTextureRegion(animation.getKeyFrame(getTime(), false));
+            if (isOpen()) {
+                getGame().getLevelMap().setDoorClosed(this, false); // stop blocking movers
+                getGame().getLevelMap().deactivate(this); // nothing to update anymore
+            }
         }
     }
 
@@ -44,20 +56,41 @@ public void update(float delta) {
      * Get rectangle for action.
      * Used when the Player has a key and is near.
      * Bigger than default entity rectangle.
+     * The rectangle is reused, so it must not be changed by the caller.
      * @return Rectangle that represents action rectangle
      */
     public Rectangle getActionRectangle() {
-        return getEntityRectangle(ACTION_PADDING);
+        updateRectangles();
+        return actionRectangle;
     }
 
     /**
      * Get rectangle for exit.
      * Used when the Player is near and exit is open.
      * Smaller than default entity rectangle.
+     * The rectangle is reused, so it must not be changed by the caller.
      * @return Rectangle that represents exit rectangle
      */
     public Rectangle getExitRectangle() {
-        return getEntityRectangle(EXIT_PADDING);
+        updateRectangles();
+        return exitRectangle;
+    }
+
+    /**
+     * Refresh the action and exit rectangles if the position has changed.
+     */
+    private void updateRectangles() {
+        if (rectanglesDirty) {
+            fillEntityRectangle(actionRectangle, ACTION_PADDING);
+            fillEntityRectangle(exitRectangle, EXIT_PADDING);
+            rectanglesDirty = false;
+        }
+    }
+
+    @Override
+    protected void invalidateBounds() {
+        super.invalidateBounds();
+        rectanglesDirty = true;
     }
 
     /**
@@ -69,11 +102,23 @@ public boolean isOpen() {
         return getTextureRegion() == animation.getKeyFrames()[lastIndex];
     }
 
+    /**
+     * The exit is idle until it is opened.
+     * @return false
+     */
+    @Override
+    public boolean isInitiallyActive() {
+        return false;
+    }
+
     /**
      * Open the door.
-     * Start an animation timer opening the door.
+     * Start an animation timer opening the door, the exit is updated until the door is open.
      */
     public void open() {
-        isOpening = true;
+        if (!isOpening) {
+            isOpening = true;
+            getGame().getLevelMap().activate(this);
+        }
     }
 }
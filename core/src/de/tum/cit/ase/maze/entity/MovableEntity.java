@@ -2,14 +2,11 @@
 
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import de.tum.cit.ase.maze.LevelMap;
 import de.tum.cit.ase.maze.MazeRunnerGame;
 
-import java.lang.reflect.Field;
-import java.util.function.Function;
-
 /**
  * MovableEntity class allows the entities to move in four directions,
  * but it's needed to implement animation for each direction.
@@ -23,6 +20,17 @@ public abstract class MovableEntity extends UpdatableEntity {
 
     private float speed;
 
+    // Position at the start of the current simulation tick, used to interpolate the drawing
+    private float previousX;
+    private float previousY;
+
+    // Moved while the level map defers the position updates, the spatial index still has the old cell
+    private boolean positionUpdatePending;
+
+    // Reused for every move to avoid allocations
+    private final MoveResult moveResult;
+    private final Rectangle moveRectangle;
+
     /**
      * Creates one new movable entity.
      * @param game the main game.
@@ -30,6 +38,57 @@ public abstract class MovableEntity extends UpdatableEntity {
     protected MovableEntity(MazeRunnerGame game) {
         super(game);
         this.speed = DEFAULT_SPEED;
+        this.moveResult = new MoveResult();
+        this.moveRectangle = new Rectangle();
+    }
+
+    /**
+     * Remember the position at the start of the tick, then update the entity.
+     * @param delta the delta time.
+     */
+    @Override
+    public void update(float delta) {
+        previousX = x;
+        previousY = y;
+        super.update(delta);
+    }
+
+    /**
+     * Set x position without interpolation from the old position.
+     * @param x the x position in float
+     */
+    @Override
+    public void setX(float x) {
+        super.setX(x);
+        previousX = x;
+    }
+
+    /**
+     * Set y position without interpolation from the old position.
+     * @param y the y position in float
+     */
+    @Override
+    public void setY(float y) {
+        super.setY(y);
+        previousY = y;
+    }
+
+    /**
+     * Get x position interpolated between the previous and the current tick.
+     * @return the x position in float
+     */
+    @Override
+    protected float getDrawX() {
+        return previousX + (x - previousX) * getGame().getInterpolationAlpha();
+    }
+
+    /**
+     * Get y position interpolated between the previous and the current tick.
+     * @return the y position in float
+     */
+    @Override
+    protected float getDrawY() {
+        return previousY + (y - previousY) * getGame().getInterpolationAlpha();
     }
 
     /**
@@ -39,8 +98,7 @@ protected MovableEntity(MazeRunnerGame game) {
      */
     public boolean moveUp(float delta) {
         setTextureRegion(getUpAnimation().getKeyFrame(getTime(), true));
-        return setFloatValueIfNot("y", getY() + speed * delta,
-                MovableEntity::checkBordersWallAndExitCollision);
+        return !move(0, speed * delta).isBlocked();
     }
 
     /**
@@ -50,8 +108,7 @@ public boolean moveUp(float delta) {
      */
     public boolean moveDown(float delta) {
         setTextureRegion(getDownAnimation().getKeyFrame(getTime(), true));
-        return setFloatValueIfNot("y", getY() - speed * delta,
-                MovableEntity::checkBordersWallAndExitCollision);
+        return !move(0, -speed * delta).isBlocked();
     }
 
     /**
@@ -61,8 +118,7 @@ public boolean moveDown(float delta) {
      */
     public boolean moveLeft(float delta) {
         setTextureRegion(getLeftAnimation().getKeyFrame(getTime(), true));
-        return setFloatValueIfNot("x", getX() - speed * delta,
-                MovableEntity::checkBordersWallAndExitCollision);
+        return !move(-speed * delta, 0).isBlocked();
     }
 
     /**
@@ -72,90 +128,184 @@ public boolean moveLeft(float delta) {
      */
     public boolean moveRight(float delta) {
         setTextureRegion(getRightAnimation().getKeyFrame(getTime(), true));
-        return setFloatValueIfNot("x", getX() + speed * delta,
-                MovableEntity::checkBordersWallAndExitCollision);
+        return !move(speed * delta, 0).isBlocked();
     }
 
     /**
-     * Get animation of move into the UP direction.
-     * @return Animation<TextureRegion> class that contains animation.
+     * Move entity towards the target position, along one axis per tick.
+     * The shorter axis is moved first, so an entity that is slightly off the cell grid is aligned
+     * before it moves along a corridor. It doesn't move further than the target, so it stops exactly on it.
+     * @param targetX the x position of the target.
+     * @param targetY the y position of the target.
+     * @param delta the delta time.
+     * @return true if the object can move without obstacles towards the target.
      */
-    public abstract Animation<TextureRegion> getUpAnimation();
+    public boolean moveTowards(float targetX, float targetY, float delta) {
+        float dx = targetX - x;
+        float dy = targetY - y;
+        float distance = speed * delta;
+        if (dx != 0 && (dy == 0 || Math.abs(dx) <= Math.abs(dy))) {
+            setTextureRegion((dx < 0 ? getLeftAnimation() : getRightAnimation()).getKeyFrame(getTime(), true));
+            return !move(MathUtils.clamp(dx, -distance, distance), 0).isBlocked();
+        } else if (dy != 0) {
+            setTextureRegion((dy < 0 ? getDownAnimation() : getUpAnimation()).getKeyFrame(getTime(), true));
+            return !move(0, MathUtils.clamp(dy, -distance, distance)).isBlocked();
+        }
+        return true;
+    }
 
     /**
-     * Get animation of move into the DOWN direction.
-     * @return Animation<TextureRegion> class that contains animation.
+     * Move entity by the given distance, first along the x axis and then along the y axis.
+     * If an axis is blocked by the map border, a wall or a closed exit, the entity stops at the contact point.
+     * The position is written directly, so overrides of setX and setY (used for placing entities) aren't called.
+     * @param dx the distance along the x axis in pixels.
+     * @param dy the distance along the y axis in pixels.
+     * @return the move result, reused by the next move of this entity.
      */
-    public abstract Animation<TextureRegion> getDownAnimation();
+    public MoveResult move(float dx, float dy) {
+        moveResult.reset();
+        float oldX = x;
+        float oldY = y;
+
+        if (dx != 0) {
+            moveAxis(dx, true);
+        }
+        if (dy != 0) {
+            moveAxis(dy, false);
+        }
+
+        if (x != oldX || y != oldY) {
+            LevelMap levelMap = getGame().getLevelMap();
+            if (levelMap.isPositionUpdatesDeferred()) {
+                positionUpdatePending = true; // other threads may move entities at the same time
+            } else {
+                levelMap.updateEntityPosition(this); // keep the spatial index up to date
+            }
+        }
+        return moveResult;
+    }
 
     /**
-     * Get animation of move into the LEFT direction.
-     * @return Animation<TextureRegion> class that contains animation.
+     * Put the entity into its new cell of the spatial index, if it has moved while the position updates were deferred.
      */
-    public abstract Animation<TextureRegion> getLeftAnimation();
+    public void flushPositionUpdate() {
+        if (positionUpdatePending) {
+            positionUpdatePending = false;
+            getGame().getLevelMap().updateEntityPosition(this);
+        }
+    }
 
     /**
-     * Get animation of move into the RIGHT direction.
-     * @return Animation<TextureRegion> class that contains animation.
+     * Move entity along one axis and stop at the contact point of the first blocked cell.
+     * Distances longer than one cell are split into steps of at most one cell. A wall is one cell long,
+     * so no step can jump over it, and a fast entity or a long tick can't pass through a wall.
+     * @param distance the distance in pixels.
+     * @param horizontal true for the x axis, false for the y axis.
      */
-    public abstract Animation<TextureRegion> getRightAnimation();
+    private void moveAxis(float distance, boolean horizontal) {
+        float cellSize = horizontal ? CELL_WIDTH : CELL_HEIGHT;
+        int steps = Math.max(1, (int) Math.ceil(Math.abs(distance) / cellSize));
+        float step = distance / steps;
+        for (int i = 0; i < steps; i++) {
+            if (moveAxisStep(step, horizontal)) {
+                return;
+            }
+        }
+    }
 
     /**
-     * Check the current entity with borders, wall and exit collision.
-     * @return true if collision occurred.
+     * Move entity along one axis by at most one cell and stop at the contact point if the target position is blocked.
+     * @param distance the distance in pixels, not longer than one cell.
+     * @param horizontal true for the x axis, false for the y axis.
+     * @return true if the step was blocked.
      */
-    private boolean checkBordersWallAndExitCollision() {
-        Rectangle rectangle = getEntityRectangle();
+    private boolean moveAxisStep(float distance, boolean horizontal) {
+        LevelMap levelMap = getGame().getLevelMap();
+        float oldValue = horizontal ? x : y;
+        float newValue = oldValue + distance;
+        setAxis(horizontal, newValue);
 
-        LevelMap levelMap = getGame().getLevelMap(); // get the level map
-        if (rectangle.x < 0 || rectangle.x + rectangle.width > levelMap.getMapWidth() ||
-                rectangle.y < 0 || rectangle.y + rectangle.height > levelMap.getMapHeight()) { // check borders
-            return true;
+        Rectangle rectangle = fillEntityRectangle(moveRectangle);
+        if (!isBlocked(rectangle, levelMap)) {
+            return false;
         }
 
-        Rectangle entityRectangle;
-        int size = getGame().getLevelMap().getEntities().size;
-        for (int i = 0; i < size; i++) {
-            Entity entity = getGame().getLevelMap().getEntities().get(i);
-            if (entity instanceof Wall wall) {
-                entityRectangle = new Rectangle(wall.getX(), wall.getY(), CELL_WIDTH, CELL_HEIGHT);
-                if (Intersector.overlaps(rectangle, entityRectangle)) { // check wall collision
-                    return true;
-                }
-            }
-            if (entity instanceof Exit exit) {
-                entityRectangle = exit.getEntityRectangle();
-                if (!exit.isOpen() && Intersector.overlaps(rectangle, entityRectangle)) { // check exit collision
-                    return true;
-                }
-            }
+        int normal = distance > 0 ? -1 : 1;
+        moveResult.addContact(horizontal ? normal : 0, horizontal ? 0 : normal, rectangle, levelMap);
+
+        // Snap the rectangle edge to the cell border in front of the entity
+        float cellSize = horizontal ? CELL_WIDTH : CELL_HEIGHT;
+        float start = horizontal ? rectangle.x : rectangle.y;
+        float size = horizontal ? rectangle.width : rectangle.height;
+        float offset = start - newValue; // rectangle start relative to the position
+        float contactValue;
+        if (distance > 0) {
+            contactValue = (float) Math.floor((start + size) / cellSize) * cellSize - size - offset;
+            contactValue = Math.max(oldValue, Math.min(contactValue, newValue));
+        } else {
+            contactValue = (float) Math.ceil(start / cellSize) * cellSize - offset;
+            contactValue = Math.min(oldValue, Math.max(contactValue, newValue));
+        }
+
+        setAxis(horizontal, contactValue);
+        if (contactValue != oldValue && isBlocked(fillEntityRectangle(moveRectangle), levelMap)) {
+            setAxis(horizontal, oldValue); // door paddings and rounding can still overlap
         }
-        return false;
+        return true;
     }
 
     /**
-     * Set float value if the condition returns true.
-     * @param propertyName the property name that will change.
-     * @param newValue the new value.
-     * @param condition the condition.
-     * @return true if value changed.
+     * Check the rectangle with borders, wall and exit collision.
+     * @param rectangle the rectangle in pixels.
+     * @param levelMap the level map.
+     * @return true if collision occurred.
      */
-    private boolean setFloatValueIfNot(String propertyName, float newValue, Function<MovableEntity, Boolean> condition) {
-        try {
-            Field field = Entity.class.getDeclaredField(propertyName); // get field
-            float oldValue = field.getFloat(this);
-            field.setFloat(this, newValue);
-            if (condition.apply(this)) {
-                field.setFloat(this, oldValue);
-                return false;
-            }
+    private boolean isBlocked(Rectangle rectangle, LevelMap levelMap) {
+        if (rectangle.x < 0 || rectangle.x + rectangle.width > levelMap.getMapWidth() ||
+                rectangle.y < 0 || rectangle.y + rectangle.height > levelMap.getMapHeight()) { // check borders
+            return true;
         }
-        catch (Exception exception) {
-            throw new RuntimeException("Cant set float value in movable entity: " + this, exception);
+        return levelMap.isBlocked(rectangle); // check wall and closed exit collision
+    }
+
+    /**
+     * Write the position of one axis directly.
+     * @param horizontal true for the x axis, false for the y axis.
+     * @param value the new position.
+     */
+    private void setAxis(boolean horizontal, float value) {
+        if (horizontal) {
+            x = value;
+        } else {
+            y = value;
         }
-        return true;
+        invalidateBounds();
     }
 
+    /**
+     * Get animation of move into the UP direction.
+     * @return Animation<TextureRegion> class that contains animation.
+     */
+    public abstract Animation<TextureRegion> getUpAnimation();
+
+    /**
+     * Get animation of move into the DOWN direction.
+     * @return Animation<TextureRegion> class that contains animation.
+     */
+    public abstract Animation<TextureRegion> getDownAnimation();
+
+    /**
+     * Get animation of move into the LEFT direction.
+     * @return Animation<TextureRegion> class that contains animation.
+     */
+    public abstract Animation<TextureRegion> getLeftAnimation();
+
+    /**
+     * Get animation of move into the RIGHT direction.
+     * @return Animation<TextureRegion> class that contains animation.
+     */
+    public abstract Animation<TextureRegion> getRightAnimation();
+
     /**
      * Set speed property.
      * @param speed the speed property.
@@ -0,0 +1,93 @@
+package de.tum.cit.ase.maze.entity;
+
+import com.badlogic.gdx.math.Rectangle;
+
+import de.tum.cit.ase.maze.LevelMap;
+
+/**
+ * MoveResult class describes the outcome of one movement of a movable entity.
+ * Each movable entity reuses one instance, so the result is only valid until its next move.
+ */
+public class MoveResult {
+
+    private boolean blocked;
+    private int normalX;
+    private int normalY;
+
+    // Blocking entity is looked up lazily, most callers only need the normal
+    private final Rectangle contactRectangle;
+    private LevelMap levelMap;
+    private Entity blocker;
+    private boolean blockerResolved;
+
+    /**
+     * Creates an empty move result.
+     */
+    MoveResult() {
+        contactRectangle = new Rectangle();
+    }
+
+    /**
+     * Reset the result before a new move.
+     */
+    void reset() {
+        blocked = false;
+        normalX = 0;
+        normalY = 0;
+        levelMap = null;
+        blocker = null;
+        blockerResolved = false;
+    }
+
+    /**
+     * Record a contact on one axis.
+     * @param normalX the x component of the contact normal
+     * @param normalY the y component of the contact normal
+     * @param rectangle the rectangle of the entity at the blocked position
+     * @param levelMap the level map where the contact happened
+     */
+    void addContact(int normalX, int normalY, Rectangle rectangle, LevelMap levelMap) {
+        this.blocked = true;
+        if (normalX != 0) this.normalX = normalX;
+        if (normalY != 0) this.normalY = normalY;
+        this.contactRectangle.set(rectangle);
+        this.levelMap = levelMap;
+        this.blockerResolved = false;
+    }
+
+    /**
+     * Check if the movement was stopped on at least one axis.
+     * @return true if the entity hit the map border, a wall or a closed exit
+     */
+    public boolean isBlocked() {
+        return blocked;
+    }
+
+    /**
+     * Get the x component of the contact normal.
+     * @return -1 if blocked while moving right, 1 if blocked while moving left, otherwise 0
+     */
+    public int getNormalX() {
+        return normalX;
+    }
+
+    /**
+     * Get the y component of the contact normal.
+     * @return -1 if blocked while moving up, 1 if blocked while moving down, otherwise 0
+     */
+    public int getNormalY() {
+        return normalY;
+    }
+
+    /**
+     * Get the entity that blocked the last blocked axis.
+     * @return the wall or exit, null if the movement wasn't blocked or the map border blocked it
+     */
+    public Entity getBlocker() {
+        if (!blockerResolved && levelMap != null) {
+            blocker = levelMap.findBlocker(contactRectangle);
+            blockerResolved = true;
+        }
+        return blocker;
+    }
+}
@@ -1,8 +1,5 @@
 package de.tum.cit.ase.maze.entity;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
@@ -10,14 +7,16 @@
 import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Array;
+import de.tum.cit.ase.maze.EnemyStore;
+import de.tum.cit.ase.maze.LevelMap;
 import de.tum.cit.ase.maze.MazeRunnerGame;
-import de.tum.cit.ase.maze.screen.GameScreen;
+import de.tum.cit.ase.maze.World;
 
 /**
  * Player class represents player entity, which is movable and updatable.
  * It has health and can be damaged by traps and enemies.
  * Can also attack enemies.
- * The user controls the movement of the player entity.
+ * The user controls the movement of the player entity with a bit mask of the pressed controls.
  */
 public class Player extends MovableEntity {
 
@@ -29,7 +28,15 @@ public class Player extends MovableEntity {
     // Player default health count
     public static final float DEFAULT_HEALTH = 5f;
 
+    // Control bits, combined into the controls mask
+    public static final int CONTROL_UP = 1;
+    public static final int CONTROL_DOWN = 1 << 1;
+    public static final int CONTROL_LEFT = 1 << 2;
+    public static final int CONTROL_RIGHT = 1 << 3;
+    public static final int CONTROL_ATTACK = 1 << 4;
+
     private static final float DEFAULT_DAMAGE = 1f;
+    private static final float CLOCK_TIME = 30f;
     private static final float DEFAULT_IMMUTABLE_TIME = 5f;
 
     private final Animation<TextureRegion> downAnimation;
@@ -42,14 +49,6 @@ public class Player extends MovableEntity {
     private final Animation<TextureRegion> attackLeftAnimation;
     private Animation<TextureRegion> attackAnimation;
 
-    private final Array<Sound> hurtSoundArray;
-    private final Sound keySound;
-    private final Sound healSound;
-    private final Sound coinSound;
-    private final Sound spellSound;
-    private final Sound clockSound;
-    private final Sound potionSound;
-
     private float health;
     private float immutableTime;
 
@@ -58,6 +57,7 @@ public class Player extends MovableEntity {
     private int collectedKeys;
     private boolean hasAtLeastHalfOfKeys;
     private int killCount = 0;
+    private int controls;
 
     public Player(MazeRunnerGame game) {
         super(game);
@@ -70,14 +70,6 @@ public Player(MazeRunnerGame game) {
         attackRightAnimation = game.getCharacterAttackRightAnimation();
         attackLeftAnimation = game.getCharacterAttackLeftAnimation();
 
-        hurtSoundArray = game.getHurtSoundArray();
-        keySound = game.getKeySound();
-        healSound = game.getHealSound();
-        spellSound = game.getSpellSound();
-        coinSound = game.getCoinSound();
-        clockSound = game.getClockSound();
-        potionSound = game.getPotionSound();
-
         setTextureRegion(downAnimation.getKeyFrames()[0]);
         centerDrawOffset();
 
@@ -114,121 +106,101 @@ public void update(float delta) {
         super.update(delta);
 
         immutableTime -= delta;
+        Animation<TextureRegion> previousAttackAnimation = attackAnimation;
         attackAnimation = null;
 
-        if (Gdx.input.isKeyPressed(Input.Keys.SPACE)) {
+        if (isControlPressed(CONTROL_ATTACK)) {
 
-            if (Gdx.input.isKeyPressed(Input.Keys.DOWN)) {
+            if (isControlPressed(CONTROL_DOWN)) {
                 attackAnimation = attackDownAnimation;
-            } else if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
+            } else if (isControlPressed(CONTROL_RIGHT)) {
                 attackAnimation = attackRightAnimation;
-            } else if (Gdx.input.isKeyPressed(Input.Keys.UP)) {
+            } else if (isControlPressed(CONTROL_UP)) {
                 attackAnimation = attackUpAnimation;
-            } else if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
+            } else if (isControlPressed(CONTROL_LEFT)) {
                 attackAnimation = attackLeftAnimation;
             }
 
+            if ((attackAnimation == null) != (previousAttackAnimation == null)) {
+                invalidateBounds(); // the hit box is bigger while attacking
+            }
+
             if (attackAnimation != null) {
                 // render attack animation
                 setTextureRegion(attackAnimation.getKeyFrame(getTime(), true));
                 // Check player attack with enemy collision
                 Enemy enemy = checkEnemyCollision();
+                int storedEnemy = enemy == null ? checkStoredEnemyCollision() : -1;
                 if (enemy != null) {
-                    getGame().getLevelMap().getEntities().removeValue(enemy, true);
+                    getGame().getLevelMap().despawn(enemy);
+                } else if (storedEnemy >= 0) {
+                    getGame().getLevelMap().getEnemyStore().remove(storedEnemy);
+                }
+                if (enemy != null || storedEnemy >= 0) {
                     killCount++;
-                    // Play spell sound
-                    spellSound.play();
+                    getGame().getWorld().fireEvent(World.Event.ENEMY_KILLED);
                 }
                 return; // Skip normal movement rendering when attacking
             }
+        } else if (previousAttackAnimation != null) {
+            invalidateBounds(); // back to the normal hit box
         }
 
-        if (Gdx.input.isKeyPressed(Input.Keys.UP)) {
+        if (isControlPressed(CONTROL_UP)) {
             moveUp((float) (delta + 0.2 * delta * collectedCoins));
-        } else if (Gdx.input.isKeyPressed(Input.Keys.DOWN)) {
+        } else if (isControlPressed(CONTROL_DOWN)) {
             moveDown((float) (delta + 0.2 * delta * collectedCoins));
         }
 
-        if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
+        if (isControlPressed(CONTROL_LEFT)) {
             moveLeft((float) (delta + 0.2 * delta * collectedCoins));
-        } else if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
+        } else if (isControlPressed(CONTROL_RIGHT)) {
             moveRight((float) (delta + 0.2 * delta * collectedCoins));
         }
 
-        // Check key collision
-        Key key = checkKeyCollision();
-        if (key != null) {
-            collectedKeys++;
-            if (collectedKeys >= 0.5 * totalKeys) {
-                hasAtLeastHalfOfKeys = true;
+        // Check collisions with all nearby pickups, traps and enemies in one pass
+        boolean hasHazardCollision = false;
+        Rectangle playerRectangle = getEntityRectangle();
+        Array<Entity> nearbyEntities = getGame().getLevelMap()
+                .queryRect(playerRectangle, LevelMap.PICKUP_TYPES | LevelMap.HAZARD_TYPES);
+        for (int i = 0; i < nearbyEntities.size; i++) {
+            Entity entity = nearbyEntities.get(i);
+            if (!Intersector.overlaps(playerRectangle, entity.getEntityRectangle())) {
+                continue;
+            }
+            switch (entity.getType()) {
+                case KEY -> collectKey((Key) entity);
+                case HEART -> collectHeart((Heart) entity);
+                case COIN -> collectCoin((Coin) entity);
+                case CLOCK -> collectClock((Clock) entity);
+                case POTION -> collectPotion((Potion) entity);
+                case TRAP, ENEMY -> hasHazardCollision = true;
+                default -> { } // not queried
             }
-            getGame().getLevelMap().getEntities().removeValue(key, true);
-
-            // Play key sound
-            keySound.play();
-        }
-
-        // Check heart collision
-        Heart heart = checkHeartCollision();
-        if (heart != null) {
-            health = Math.min(DEFAULT_HEALTH, health + (1f/5f) * DEFAULT_HEALTH);
-            getGame().getLevelMap().getEntities().removeValue(heart, true);
-
-            // Play heal sound
-            healSound.play();
-        }
-
-        // Check coin collision
-        Coin coin = checkCoinCollision();
-        if (coin != null) {
-            collectedCoins++;
-            getGame().getLevelMap().getEntities().removeValue(coin, true);
-
-            // Play coin sound
-            coinSound.play();
-        }
-
-        // Check clock collision
-        Clock clock = checkClockCollision();
-        if (clock != null) {
-            //add 30 seconds to the timer
-            GameScreen screen = (GameScreen) getGame().getScreen();
-            screen.setTimeLeft(screen.getTimeLeft() + 30);
-
-            getGame().getLevelMap().getEntities().removeValue(clock, true);
-
-            // Play clock sound
-            clockSound.play();
         }
 
-        // Check potion collision
-        Potion potion = checkPotionCollision();
-        if (potion != null) {
-            immutableTime = DEFAULT_IMMUTABLE_TIME;
-            getGame().getLevelMap().getEntities().removeValue(potion, true);
-
-            // Play potion sound
-            potionSound.play();
+        // Enemies of the enemy store aren't in the spatial index
+        if (!hasHazardCollision && checkStoredEnemyCollision() >= 0) {
+            hasHazardCollision = true;
         }
 
         // Check trap or enemy collision
-        if (checkTrapOrEnemyCollision() && immutableTime <= 0) {
+        if (hasHazardCollision && immutableTime <= 0) {
             collectedCoins = 0;
             health -= DEFAULT_DAMAGE;
             immutableTime = DEFAULT_IMMUTABLE_TIME;
 
-            // Play random hurt sound
-            hurtSoundArray.random().play();
+            getGame().getWorld().fireEvent(World.Event.PLAYER_HURT);
         }
     }
 
     @Override
-    public Rectangle getEntityRectangle() {
+    public Rectangle fillEntityRectangle(Rectangle rectangle) {
         if (attackAnimation != null) {
-            return new Rectangle(getX() - (float) CELL_WIDTH / 2, getY() - (float) CELL_HEIGHT / 2,
+            return rectangle.set(getX() - (float) CELL_WIDTH / 2, getY() - (float) CELL_HEIGHT / 2,
                     (float) CELL_WIDTH, (float) CELL_HEIGHT);
         } else {
-            return new Rectangle(getX() - (float) CELL_WIDTH / 4, getY() - (float) CELL_HEIGHT / 2,
+            return rectangle.set(getX() - (float) CELL_WIDTH / 4, getY() - (float) CELL_HEIGHT / 2,
                     (float) CELL_WIDTH / 2, (float) CELL_HEIGHT / 2);
         }
     }
@@ -240,52 +212,112 @@ public void draw(SpriteBatch batch) {
         }
     }
 
-    private boolean checkTrapOrEnemyCollision() {
-        return checkCollision(Trap.class, Enemy.class) != null;
+    /**
+     * Collect key.
+     * @param key the key
+     */
+    private void collectKey(Key key) {
+        collectedKeys++;
+        if (collectedKeys >= 0.5 * totalKeys) {
+            hasAtLeastHalfOfKeys = true;
+        }
+        getGame().getLevelMap().despawn(key);
+        getGame().getWorld().fireEvent(World.Event.KEY_COLLECTED);
     }
 
-    private Heart checkHeartCollision() {
-        return (Heart) checkCollision(Heart.class);
+    /**
+     * Collect heart and refill health.
+     * @param heart the heart
+     */
+    private void collectHeart(Heart heart) {
+        health = Math.min(DEFAULT_HEALTH, health + (1f/5f) * DEFAULT_HEALTH);
+        getGame().getLevelMap().despawn(heart);
+        getGame().getWorld().fireEvent(World.Event.HEART_COLLECTED);
     }
 
-    private Coin checkCoinCollision() {
-        return (Coin) checkCollision(Coin.class);
+    /**
+     * Collect coin and increase speed.
+     * @param coin the coin
+     */
+    private void collectCoin(Coin coin) {
+        collectedCoins++;
+        getGame().getLevelMap().despawn(coin);
+        getGame().getWorld().fireEvent(World.Event.COIN_COLLECTED);
     }
 
-    private Clock checkClockCollision() {
-        return (Clock) checkCollision(Clock.class);
-    }
+    /**
+     * Collect clock and add time to the timer.
+     * @param clock the clock
+     */
+    private void collectClock(Clock clock) {
+        //add 30 seconds to the timer
+        getGame().getWorld().addTime(CLOCK_TIME);
 
-    private Potion checkPotionCollision() {
-        return (Potion) checkCollision(Potion.class);
+        getGame().getLevelMap().despawn(clock);
+        getGame().getWorld().fireEvent(World.Event.CLOCK_COLLECTED);
     }
 
-    private Key checkKeyCollision() {
-        return (Key) checkCollision(Key.class);
+    /**
+     * Collect potion and become invincible for a short time.
+     * @param potion the potion
+     */
+    private void collectPotion(Potion potion) {
+        immutableTime = DEFAULT_IMMUTABLE_TIME;
+        getGame().getLevelMap().despawn(potion);
+        getGame().getWorld().fireEvent(World.Event.POTION_COLLECTED);
     }
 
+    /**
+     * Find the first enemy that overlaps the player.
+     * @return the enemy, null if there is no enemy collision
+     */
     private Enemy checkEnemyCollision() {
-        return (Enemy) checkCollision(Enemy.class);
-    }
-
-    private Object checkCollision(Class... classes) {
         Rectangle playerRectangle = getEntityRectangle();
-        Entity entity;
-        Rectangle entityRectangle;
-        int size = getGame().getLevelMap().getEntities().size;
-        for (int i = 0; i < size; i++) {
-            entity = getGame().getLevelMap().getEntities().get(i);
-            entityRectangle = entity.getEntityRectangle();
-            for (Class aClass : classes) {
-                if (entity.getClass().equals(aClass) && Intersector.overlaps(playerRectangle, entityRectangle)) {
-                    return entity;
-                }
+        Array<Entity> nearbyEnemies = getGame().getLevelMap().queryRect(playerRectangle, LevelMap.Type.ENEMY.getMask());
+        for (int i = 0; i < nearbyEnemies.size; i++) {
+            Entity entity = nearbyEnemies.get(i);
+            if (Intersector.overlaps(playerRectangle, entity.getEntityRectangle())) {
+                return (Enemy) entity;
             }
         }
         return null;
     }
 
+    /**
+     * Find the first enemy of the enemy store that overlaps the player.
+     * @return the index of the enemy in the store, -1 if there is no store or no enemy collision
+     */
+    private int checkStoredEnemyCollision() {
+        EnemyStore enemyStore = getGame().getLevelMap().getEnemyStore();
+        return enemyStore != null ? enemyStore.findOverlapping(getEntityRectangle()) : -1;
+    }
+
+    /**
+     * Check if the control is pressed.
+     * @param control one of the CONTROL_* bits
+     * @return true if the control is pressed
+     */
+    private boolean isControlPressed(int control) {
+        return (controls & control) != 0;
+    }
+
+    /**
+     * Set the pressed controls, used by the next updates.
+     * @param controls combined CONTROL_* bits
+     */
+    public void setControls(int controls) {
+        this.controls = controls;
+    }
+
     // Getter methods
+    /**
+     * Get pressed controls.
+     * @return combined CONTROL_* bits
+     */
+    public int getControls() {
+        return controls;
+    }
+
     /**
      * Get player health.
      * @return the player health
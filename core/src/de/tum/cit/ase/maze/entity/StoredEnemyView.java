@@ -0,0 +1,50 @@
+package de.tum.cit.ase.maze.entity;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+import de.tum.cit.ase.maze.EnemyStore;
+import de.tum.cit.ase.maze.MazeRunnerGame;
+
+/**
+ * StoredEnemyView class is a thin entity that draws one enemy of the enemy store.
+ * The game screen reuses a few of them every frame for the visible stored enemies,
+ * so they are drawn in depth order with the other entities. It is never added to the level map.
+ */
+public class StoredEnemyView extends Entity {
+
+    private final Animation<TextureRegion> downAnimation;
+    private final Animation<TextureRegion> upAnimation;
+    private final Animation<TextureRegion> leftAnimation;
+    private final Animation<TextureRegion> rightAnimation;
+
+    /**
+     * Creates one view.
+     * @param game the main game
+     */
+    public StoredEnemyView(MazeRunnerGame game) {
+        super(game);
+        downAnimation = game.getEnemyDownAnimation();
+        upAnimation = game.getEnemyUpAnimation();
+        leftAnimation = game.getEnemyLeftAnimation();
+        rightAnimation = game.getEnemyRightAnimation();
+    }
+
+    /**
+     * Show an enemy of the store at its interpolated position, with the frame of the direction it moves in.
+     * @param store the enemy store
+     * @param index the index of the enemy
+     */
+    public void show(EnemyStore store, int index) {
+        float alpha = getGame().getInterpolationAlpha();
+        setX(store.getDrawX(index, alpha));
+        setY(store.getDrawY(index, alpha));
+        Animation<TextureRegion> animation = switch (store.getDirection(index)) {
+            case EnemyStore.DIRECTION_UP -> upAnimation;
+            case EnemyStore.DIRECTION_LEFT -> leftAnimation;
+            case EnemyStore.DIRECTION_RIGHT -> rightAnimation;
+            default -> downAnimation;
+        };
+        setTextureRegion(animation.getKeyFrame(store.getTime(index), true));
+    }
+}
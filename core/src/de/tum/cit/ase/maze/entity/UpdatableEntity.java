@@ -9,6 +9,7 @@
 public class UpdatableEntity extends Entity {
 
     private float time;
+    private int activeSlotIndex = -1; // index in the active entities of the level map, -1 if not active
 
     /**
      * Creates one updatableEntity.
@@ -35,6 +36,32 @@ public void update(float delta) {
         time += delta;
     }
 
+    /**
+     * Check if the entity is updated from the moment it is added to a level map.
+     * Entities that are idle at first return false and activate themselves on the level map when needed.
+     * @return true if the entity is active when it is added
+     */
+    public boolean isInitiallyActive() {
+        return true;
+    }
+
+    /**
+     * Get the index in the active entities of the level map.
+     * @return the active slot index, -1 if the entity isn't active
+     */
+    public int getActiveSlotIndex() {
+        return activeSlotIndex;
+    }
+
+    /**
+     * Set the index in the active entities of the level map.
+     * Should only be called by the level map.
+     * @param activeSlotIndex the active slot index
+     */
+    public void setActiveSlotIndex(int activeSlotIndex) {
+        this.activeSlotIndex = activeSlotIndex;
+    }
+
     /**
      * Get time variable.
      * @return time in milliseconds
@@ -5,7 +5,6 @@
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
@@ -16,12 +15,12 @@
 import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
+import de.tum.cit.ase.maze.MapGrid;
 import de.tum.cit.ase.maze.MazeRunnerGame;
 import games.spooky.gdx.nativefilechooser.NativeFileChooserCallback;
 import games.spooky.gdx.nativefilechooser.NativeFileChooserConfiguration;
 import games.spooky.gdx.nativefilechooser.NativeFileChooserIntent;
 
-import java.io.IOException;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
@@ -46,7 +45,7 @@ public ChooseLevelScreen(MazeRunnerGame game) {
         Viewport viewport = new ScreenViewport(camera); // Create a viewport with the camera
         stage = new Stage(viewport, game.getSpriteBatch()); // Create a stage for UI elements
 
-        Table table = getTable();
+        Table table = getTable(game);
         stage.addActor(table); // Add the table to the stage
 
         table.add(new Label("Choose Level", game.getSkin(), "title")).padBottom(40).row(); // Add a title label
@@ -83,11 +82,12 @@ public void changed(ChangeEvent event, Actor actor) {
 
     /**
      * Creates a table with a background image.
+     * @param game The main game class, used to access the background texture.
      * @return The table with the background image.
      */
-    private Table getTable() {
+    private Table getTable(MazeRunnerGame game) {
         // Create a drawable from the texture
-        TextureRegionDrawable backgroundDrawable = new TextureRegionDrawable(new TextureRegion(new Texture("backgrounds/choose level background.png")));
+        TextureRegionDrawable backgroundDrawable = new TextureRegionDrawable(new TextureRegion(game.getChooseLevelBackground()));
 
         Table table = new Table();
 
@@ -120,7 +120,8 @@ public void changed(ChangeEvent event, Actor actor) {
                 var fileChooserConfig = new NativeFileChooserConfiguration(); // Create a file chooser configuration
                 fileChooserConfig.title = "Pick a map file"; // Title of the window that will be opened
                 fileChooserConfig.intent = NativeFileChooserIntent.OPEN; // We want to open a file
-                fileChooserConfig.nameFilter = (file, name) -> name.endsWith("properties"); // Only accept .properties files
+                fileChooserConfig.nameFilter = (file, name) -> name.endsWith("properties") ||
+                        name.endsWith(MapGrid.BINARY_EXTENSION); // Only accept .properties and binary map files
                 fileChooserConfig.directory = Gdx.files.local("maps"); // Set the directory to LOCAL_DIRECTORY/maps
 
                 game.getFileChooser().chooseFile(fileChooserConfig, new NativeFileChooserCallback() {
@@ -131,15 +132,7 @@ public void changed(ChangeEvent event, Actor actor) {
                      */
                     @Override
                     public void onFileChosen(FileHandle fileHandle) {
-                        // Do something with fileHandle
-                        try {
-                            game.getLevelMap().load(fileHandle); // Load the level map
-                            game.getGameScreen().initializeLevel(); // Initialize the level
-                            game.goToGame(); // Go to the game screen
-                        }
-                        catch (IOException e) {
-                            Gdx.app.log("ERROR", "Failed to load level map at: " + fileHandle.path());
-                        }
+                        game.loadLevel(fileHandle); // Load the level map and go to the game screen
                     }
 
                     /**
@@ -4,7 +4,6 @@
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.EventListener;
@@ -99,7 +98,7 @@ public void changed(ChangeEvent event, Actor actor) {
 
         // Set background based on winning or losing
         TextureRegionDrawable backgroundDrawable = new TextureRegionDrawable(
-                new TextureRegion(isWinner ? new Texture("backgrounds/winning background.png") : new Texture("backgrounds/losing background.png")));
+                new TextureRegion(game.getEndGameBackground(isWinner)));
 
         // Set the background
         background.setDrawable(backgroundDrawable);
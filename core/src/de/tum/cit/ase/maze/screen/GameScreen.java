@@ -7,19 +7,22 @@
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
-import com.badlogic.gdx.math.Intersector;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.ScreenUtils;
+import de.tum.cit.ase.maze.EnemyStore;
 import de.tum.cit.ase.maze.LevelMap;
 import de.tum.cit.ase.maze.MazeRunnerGame;
+import de.tum.cit.ase.maze.World;
 import de.tum.cit.ase.maze.entity.*;
 
 /**
  * The GameScreen class is responsible for rendering the gameplay screen.
- * It handles the game logic and rendering of the game elements.
+ * It runs the simulation of the world with the user input and renders the game elements.
+ * Events of the world are turned into sounds.
  */
-public class GameScreen implements Screen {
+public class GameScreen implements Screen, World.Listener {
     // World set up
     private static final float WIDTH = 1100f;
     private static final float HEIGHT = 600f;
@@ -39,13 +42,33 @@ public class GameScreen implements Screen {
     private final MazeRunnerGame game;
 
     private final BitmapFont magicalFont;
+    private final BitmapFont hudFont; // baked at the small size, so it isn't scaled when drawing
 
+    private final World world;
     private LevelMap levelMap;
 
-    private Array<Entity> floor;
+    // Floor and walls are baked into chunks, the other entities are drawn one by one
+    private final TileChunkRenderer tileChunkRenderer;
+
+    // Only entities inside the camera bounds plus a margin are drawn, sprites can reach out of their cell
+    private static final float CULLING_MARGIN = CELL_WIDTH * 2;
+    private static final int DRAWN_TYPES = LevelMap.ALL_TYPES & ~LevelMap.Type.WALL.getMask();
+    private final Rectangle cullingRectangle;
+    private final Array<Entity> visibleEntities; // reused every frame
+    private int visibleEntityCount;
+    private final RenderQueue renderQueue;
+    private final Rectangle playerDrawRectangle;
+    private final Rectangle debugRectangle; // reused for the hit boxes of the stored enemies
+    private final Array<StoredEnemyView> storedEnemyViews; // reused every frame for the visible stored enemies
+    private final IntArray visibleStoredEnemies; // indices of the stored enemies in the camera bounds
     private Player player;
 
-    private float timeLeft;
+    // Fixed timestep simulation
+    private static final int DEFAULT_TICK_RATE = 60;
+    private static final float MAX_FRAME_TIME = 0.25f; // longer frames are slowed down instead of running many ticks
+    private int tickRate;
+    private float tickDuration;
+    private float tickAccumulator;
 
 
     /**
@@ -54,20 +77,34 @@ public class GameScreen implements Screen {
      */
     public GameScreen(MazeRunnerGame game) {
         this.game = game;
+        this.world = game.getWorld();
+        world.setListener(this);
 
         // Create and configure the camera for the game view
         camera = new OrthographicCamera();
         camera.setToOrtho(false, WIDTH, HEIGHT);
         camera.zoom = 0.5f;
 
+        setTickRate(DEFAULT_TICK_RATE);
+
         // Get the font from the game's skin
         magicalFont = game.getSkin().getFont("magical_font");
+        hudFont = game.getSkin().getFont("magical_font_hud");
+
+        tileChunkRenderer = new TileChunkRenderer(game);
+        cullingRectangle = new Rectangle();
+        visibleEntities = new Array<>(false, 256);
+        renderQueue = new RenderQueue();
+        playerDrawRectangle = new Rectangle();
+        debugRectangle = new Rectangle();
+        storedEnemyViews = new Array<>(false, 64);
+        visibleStoredEnemies = new IntArray(false, 64);
 
         initializeLevel();
     }
 
     /**
-     * Initializes the level by generating the floor and player.
+     * Initializes the level by baking the floor and walls and generating the player.
      */
     public void initializeLevel() {
         levelMap = game.getLevelMap();
@@ -75,32 +112,15 @@ public void initializeLevel() {
         mapWidth = (int) levelMap.getMapWidth();
         mapHeight = (int) levelMap.getMapHeight();
 
-        // Generate floor
-        int columns = Math.floorDiv((int) mapWidth, CELL_WIDTH);
-        int rows = Math.floorDiv((int) mapHeight, CELL_HEIGHT);
-
-        floor = new Array<>();
-        for (int i = 0; i < columns; i++) {
-            for (int j = 0; j < rows; j++) {
-                Entity entity = new Entity(game);
-                entity.setTextureRegion(game.getFloorTextureRegion());
-                entity.setX(i * CELL_WIDTH);
-                entity.setY(j * CELL_HEIGHT);
-                floor.add(entity);
-            }
-        }
-
-        // Generate player
-        EntryPoint entryPoint = levelMap.findEntryPoint();
-
-        float mapCenterX = mapWidth / 2;
-        float mapCenterY = mapHeight / 2;
+        // Bake the static layers of the level
+        tileChunkRenderer.build(levelMap);
 
-        player = new Player(game);
-        player.setX(entryPoint != null ? entryPoint.getX() + CELL_WIDTH / 2f : mapCenterX);
-        player.setY(entryPoint != null ? entryPoint.getY() + CELL_HEIGHT / 2f : mapCenterY);
+        // Generate player and start the timer
+        world.initialize();
+        player = world.getPlayer();
 
-        timeLeft = 300;
+        tickAccumulator = 0;
+        game.setInterpolationAlpha(1f);
     }
 
     // Screen interface methods with necessary functionality
@@ -108,10 +128,12 @@ public void initializeLevel() {
     /**
      * Renders the game screen. This method is called every frame.
      * Does the most important things.
+     * The simulation runs in fixed ticks, as many as the frame time covers,
+     * and the drawing interpolates moving entities between the last two ticks.
      */
     @Override
     public void render(float delta) {
-        delta = Math.min(delta, 1 / 60f);
+        delta = Math.min(delta, MAX_FRAME_TIME);
 
         // Check for escape key press or game over to go back to the menu
         if (Gdx.input.isKeyJustPressed(Input.Keys.ESCAPE)) {
@@ -119,13 +141,6 @@ public void render(float delta) {
         }
 
         if (game.isPlaying() && !game.isPaused()) {
-            // Update camera destination position (only map bigger than viewport)
-            if (timeLeft > 0) {
-                timeLeft -= delta; // Update timer
-            } else {
-                game.goToEndGame(false); // Time is up and the player loses
-            }
-
             // Update camera destination position (only map bigger than viewport)
             if ((mapWidth > camera.viewportWidth * camera.zoom || mapHeight > camera.viewportHeight * camera.zoom) &&
                     (player.getX() + PLAYER_AND_CAMERA_MAX_DIFF_X_PERCENT * camera.viewportWidth * camera.zoom / 2 < cameraDestX ||
@@ -148,32 +163,14 @@ public void render(float delta) {
             else if (yDiff > 0) camera.position.y += Math.min(delta * CAMERA_SPEED, yDiff);
             camera.update();
 
-            // Update all updatable entities
-            int size = levelMap.getEntities().size;
-            for (int i = 0; i < size; i++) {
-                Entity entity = levelMap.getEntities().get(i);
-                if (entity instanceof UpdatableEntity updatableEntity) updatableEntity.update(delta);
-            }
-            player.update(delta);
-
-            // Check player collision with exit
-            Rectangle playerRectangle = player.getEntityRectangle();
-            size = levelMap.getEntities().size;
-            for (int i = 0; i < size; i++) {
-                Entity entity = levelMap.getEntities().get(i);
-                if (entity instanceof Exit exit) {
-                    if (exit.isOpen() && Intersector.overlaps(playerRectangle, exit.getExitRectangle())) {
-                        game.goToEndGame(true);
-                    } else if (player.isHasAtLeastHalfOfKeys() && (player.getKillCount() > 0) && Intersector.overlaps(playerRectangle, exit.getActionRectangle())) {
-                        exit.open();
-                    }
-                }
+            // Run the simulation ticks that are due with the pressed controls, stop if a tick has ended the game
+            world.setControls(readControls());
+            tickAccumulator += delta;
+            while (tickAccumulator >= tickDuration && game.isPlaying() && !game.isPaused()) {
+                tick(tickDuration);
+                tickAccumulator -= tickDuration;
             }
-        }
-
-        // Check player health
-        if (player.getHealth() <= 0) {
-            game.goToEndGame(false);
+            game.setInterpolationAlpha(Math.min(tickAccumulator / tickDuration, 1f));
         }
 
         ScreenUtils.clear(0, 0, 0, 1); // Clear the screen
@@ -182,31 +179,42 @@ public void render(float delta) {
         game.getSpriteBatch().setProjectionMatrix(camera.combined);
         game.getShapeRenderer().setProjectionMatrix(camera.combined);
 
-        // Draw floor
-        game.getSpriteBatch().begin();
-        game.getSpriteBatch().setColor(1, 1, 1, 0.5f);
-        for (Entity entity: floor) {
-            entity.draw(game.getSpriteBatch());
+        // Draw the visible chunks of the floor and walls
+        tileChunkRenderer.draw(camera);
+
+        // Find the entities in the camera bounds with the spatial index, walls are already drawn in the chunks
+        float viewWidth = camera.viewportWidth * camera.zoom;
+        float viewHeight = camera.viewportHeight * camera.zoom;
+        cullingRectangle.set(camera.position.x - viewWidth / 2 - CULLING_MARGIN,
+                camera.position.y - viewHeight / 2 - CULLING_MARGIN,
+                viewWidth + CULLING_MARGIN * 2, viewHeight + CULLING_MARGIN * 2);
+        renderQueue.clear();
+        visibleEntities.clear();
+        levelMap.queryRectByRow(cullingRectangle, DRAWN_TYPES, visibleEntities);
+        visibleEntityCount = visibleEntities.size;
+        renderQueue.addAll(visibleEntities); // nearly sorted, row by row
+        if (levelMap.getEnemyStore() != null) {
+            addVisibleStoredEnemies(levelMap.getEnemyStore());
         }
 
-        // Draw entities that upper or on the same level as player
-        game.getSpriteBatch().setColor(1, 1, 1, 1);
-        float playerLowerYPosition = player.getY() - CELL_HEIGHT;
-        levelMap.getEntities().forEach(entity -> {
-            if (entity.getY() >= playerLowerYPosition) {
-                entity.draw(game.getSpriteBatch());
+        // Walls that are lower than the player cover it, they are drawn again at the player sprite
+        float playerDepthY = player.getDepthY();
+        playerDrawRectangle.set(player.getX() - CELL_WIDTH / 2f, playerDepthY, CELL_WIDTH, CELL_HEIGHT * 2);
+        Array<Entity> walls = levelMap.queryRect(playerDrawRectangle, LevelMap.Type.WALL.getMask());
+        for (int i = 0; i < walls.size; i++) {
+            Entity wall = walls.get(i);
+            if (wall.getY() < playerDepthY && wall.getY() + CELL_HEIGHT > playerDrawRectangle.y &&
+                    wall.getX() < playerDrawRectangle.x + playerDrawRectangle.width &&
+                    wall.getX() + CELL_WIDTH > playerDrawRectangle.x) {
+                renderQueue.add(wall);
             }
-        });
-
-        // Draw the player
-        player.draw(game.getSpriteBatch());
+        }
+        renderQueue.add(player); // added last, so it is in front of entities with the same depth
 
-        // Draw entities that lower than player
-        levelMap.getEntities().forEach(entity -> {
-            if (entity.getY() < playerLowerYPosition) {
-                entity.draw(game.getSpriteBatch());
-            }
-        });
+        // Draw the entities and the player in depth order
+        game.getSpriteBatch().begin();
+        renderQueue.sort();
+        renderQueue.draw(game.getSpriteBatch());
 
         // Draw health
         float maxHealth = Player.DEFAULT_HEALTH;
@@ -231,42 +239,22 @@ public void render(float delta) {
         // Draw coins if a player has them
         int coins = player.getCollectedCoins();
         if (coins > 0) {
-            // Save the original scale
-            float originalScaleX = magicalFont.getData().scaleX;
-            float originalScaleY = magicalFont.getData().scaleY;
-
-            // Set the desired scale (adjust these values accordingly)
-            magicalFont.getData().setScale(0.3f, 0.3f);
-
             game.getSpriteBatch().draw(game.getCoinAnimation().getKeyFrames()[0],
                     camera.position.x - camera.viewportWidth * camera.zoom / 2 + keys * CELL_WIDTH + 4,
                     camera.position.y + camera.viewportHeight * camera.zoom / 2 - CELL_WIDTH - 4,
                     CELL_WIDTH, CELL_HEIGHT);
 
-            magicalFont.draw(game.getSpriteBatch(), "x" + coins,
+            hudFont.draw(game.getSpriteBatch(), "x" + coins,
                     camera.position.x - camera.viewportWidth * camera.zoom / 2 + keys * CELL_WIDTH + 4 + CELL_WIDTH,
                     camera.position.y + camera.viewportHeight * camera.zoom / 2 - CELL_WIDTH - 4 + CELL_HEIGHT);
-
-            // Revert to the original scale
-            magicalFont.getData().setScale(originalScaleX, originalScaleY);
         }
 
         // Draw kill count if player has killed enemies
         int killCount = player.getKillCount();
-        // Save the original scale
-        float originalScaleX = magicalFont.getData().scaleX;
-        float originalScaleY = magicalFont.getData().scaleY;
-
-        // Set the desired scale (adjust these values accordingly)
-        magicalFont.getData().setScale(0.3f, 0.3f);
-
-        magicalFont.draw(game.getSpriteBatch(), "Kills: " + killCount,
+        hudFont.draw(game.getSpriteBatch(), "Kills: " + killCount,
                 camera.position.x - camera.viewportWidth * camera.zoom / 2 + keys * CELL_WIDTH + 4 + CELL_WIDTH,
                 camera.position.y + camera.viewportHeight * camera.zoom / 2 - CELL_WIDTH - 4 + CELL_HEIGHT);
 
-        // Revert to the original scale
-        magicalFont.getData().setScale(originalScaleX, originalScaleY);
-
         // Draw timer
         drawTimer();
 
@@ -277,6 +265,48 @@ public void render(float delta) {
         //drawDebugActionRectangles();
     }
 
+    /**
+     * Runs one simulation tick of the world and ends the game if the level was won or lost.
+     * @param delta the fixed tick duration in seconds
+     */
+    private void tick(float delta) {
+        world.tick(delta);
+        if (world.getState() != World.State.RUNNING) {
+            game.goToEndGame(world.getState() == World.State.WON);
+        }
+    }
+
+    /**
+     * Reads the pressed keys into the player controls.
+     * @return combined Player.CONTROL_* bits
+     */
+    private int readControls() {
+        int controls = 0;
+        if (Gdx.input.isKeyPressed(Input.Keys.UP)) controls |= Player.CONTROL_UP;
+        if (Gdx.input.isKeyPressed(Input.Keys.DOWN)) controls |= Player.CONTROL_DOWN;
+        if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) controls |= Player.CONTROL_LEFT;
+        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) controls |= Player.CONTROL_RIGHT;
+        if (Gdx.input.isKeyPressed(Input.Keys.SPACE)) controls |= Player.CONTROL_ATTACK;
+        return controls;
+    }
+
+    /**
+     * Plays the sound of a world event.
+     * @param event the event
+     */
+    @Override
+    public void onEvent(World.Event event) {
+        switch (event) {
+            case KEY_COLLECTED -> game.getKeySound().play();
+            case HEART_COLLECTED -> game.getHealSound().play();
+            case COIN_COLLECTED -> game.getCoinSound().play();
+            case CLOCK_COLLECTED -> game.getClockSound().play();
+            case POTION_COLLECTED -> game.getPotionSound().play();
+            case ENEMY_KILLED -> game.getSpellSound().play();
+            case PLAYER_HURT -> game.getHurtSoundArray().random().play(); // Play random hurt sound
+        }
+    }
+
     /**
      * Draws the debug action rectangles for the player and exits.
      */
@@ -305,9 +335,37 @@ private void drawDebugActionRectangles() {
             }
         }
 
+        // Draw stored enemy rectangles
+        EnemyStore enemyStore = game.getLevelMap().getEnemyStore();
+        if (enemyStore != null) {
+            game.getShapeRenderer().setColor(Color.RED);
+            for (int i = 0; i < enemyStore.getSize(); i++) {
+                drawRectangle(enemyStore.fillRectangle(i, debugRectangle));
+            }
+        }
+
         game.getShapeRenderer().end();
     }
 
+    /**
+     * Add the stored enemies in the camera bounds to the render queue, each with a reused view.
+     * Only the enemies in the cells under the camera are visited.
+     * @param enemyStore the enemy store of the level map
+     */
+    private void addVisibleStoredEnemies(EnemyStore enemyStore) {
+        visibleStoredEnemies.clear();
+        enemyStore.queryRect(cullingRectangle, visibleStoredEnemies);
+        for (int i = 0; i < visibleStoredEnemies.size; i++) {
+            if (i == storedEnemyViews.size) {
+                storedEnemyViews.add(new StoredEnemyView(game));
+            }
+            StoredEnemyView view = storedEnemyViews.get(i);
+            view.show(enemyStore, visibleStoredEnemies.get(i));
+            renderQueue.add(view);
+        }
+        visibleEntityCount += visibleStoredEnemies.size;
+    }
+
     /**
      * Draws a rectangle using the shape renderer.
      * @param rectangle The rectangle to draw.
@@ -354,6 +412,7 @@ private int getImageIndex(int healthIndex, float health, float maxHealth) {
      * Draws the timer in the top right corner.
      */
     private void drawTimer() {
+        float timeLeft = world.getTimeLeft();
         int minutes = (int) (timeLeft / 60); // Get the minutes
         int seconds = (int) (timeLeft % 60); // Get the seconds
 
@@ -370,12 +429,40 @@ private void drawTimer() {
         );
     }
 
+    /**
+     * Gets the simulation tick rate.
+     * @return the number of simulation ticks per second.
+     */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Sets the simulation tick rate, independent of the display refresh rate.
+     * @param tickRate the number of simulation ticks per second, must be positive.
+     */
+    public void setTickRate(int tickRate) {
+        if (tickRate <= 0) {
+            throw new IllegalArgumentException("Tick rate must be positive: " + tickRate);
+        }
+        this.tickRate = tickRate;
+        this.tickDuration = 1f / tickRate;
+    }
+
+    /**
+     * Gets the number of entities that were drawn in the last frame, without the player and the static chunks.
+     * @return the number of visible entities.
+     */
+    public int getVisibleEntityCount() {
+        return visibleEntityCount;
+    }
+
     /**
      * Gets the time left of the timer.
      * @return the time left of the timer.
      */
     public float getTimeLeft() {
-        return timeLeft;
+        return world.getTimeLeft();
     }
 
     /**
@@ -383,7 +470,7 @@ public float getTimeLeft() {
      * @param timeLeft The time left.
      */
     public void setTimeLeft(float timeLeft) {
-        this.timeLeft = timeLeft;
+        world.setTimeLeft(timeLeft);
     }
 
     /**
@@ -425,5 +512,6 @@ public void hide() {
 
     @Override
     public void dispose() {
+        tileChunkRenderer.dispose();
     }
 }
@@ -0,0 +1,110 @@
+package de.tum.cit.ase.maze.screen;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.ProgressBar;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import de.tum.cit.ase.maze.MazeRunnerGame;
+
+/**
+ * The LoadingScreen class is shown while a level map is loaded in the background.
+ * It shows the progress of the level loader and stays responsive, because the render thread isn't blocked.
+ */
+public class LoadingScreen implements Screen {
+    private final MazeRunnerGame game;
+    private final Stage stage;
+    private final ProgressBar progressBar;
+    private final Label progressLabel;
+
+    /**
+     * Constructor for LoadingScreen. Sets up the camera, viewport, stage, and UI elements.
+     * @param game The main game class, used to access global resources and methods.
+     */
+    public LoadingScreen(MazeRunnerGame game) {
+        this.game = game;
+
+        var camera = new OrthographicCamera();
+        Viewport viewport = new ScreenViewport(camera); // Create a viewport with the camera
+        stage = new Stage(viewport, game.getSpriteBatch()); // Create a stage for UI elements
+
+        Table table = new Table(); // Create a table for layout
+        table.setFillParent(true); // Make the table fill the stage
+        stage.addActor(table); // Add the table to the stage
+
+        // Create and add a label as a title with the title font
+        Label titleLabel = new Label("Loading...", game.getSkin(), "title");
+        titleLabel.setAlignment(Align.center); // Align the label to the center
+        table.add(titleLabel).padBottom(40).row(); // Add the label to the table
+
+        // Create and add the progress bar, it is updated in render
+        progressBar = new ProgressBar(0, 1, 0.01f, false, game.getSkin());
+        progressBar.setAnimateDuration(0.1f); // Smooth the steps between the updates
+        table.add(progressBar).width(400).padBottom(20).row(); // Add the progress bar to the table
+
+        // Create and add a label with the progress in percent
+        progressLabel = new Label("0%", game.getSkin());
+        table.add(progressLabel).row(); // Add the label to the table
+    }
+
+    /**
+     * Updates the progress, renders the stage and clears the screen.
+     * @param delta The time in seconds since the last render.
+     */
+    @Override
+    public void render(float delta) {
+        float progress = game.getLevelLoader().getProgress();
+        progressBar.setValue(progress);
+        progressLabel.setText((int) (progress * 100) + "%");
+
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT); // Clear the screen
+        stage.act(Math.min(Gdx.graphics.getDeltaTime(), 1 / 30f)); // Update the stage
+        stage.draw(); // Draw the stage
+    }
+
+    /**
+     * Updates the stage viewport on resize.
+     * @param width The new width of the screen.
+     * @param height The new height of the screen.
+     */
+    @Override
+    public void resize(int width, int height) {
+        stage.getViewport().update(width, height, true); // Update the stage viewport on resize
+    }
+
+    /**
+     * Disposes of the stage when the screen is disposed.
+     */
+    @Override
+    public void dispose() {
+        stage.dispose();
+    }
+
+    /**
+     * Resets the progress bar when the screen is shown.
+     */
+    @Override
+    public void show() {
+        progressBar.setValue(0);
+        progressBar.updateVisualValue(); // Don't animate back from the last load
+    }
+
+    // The following methods are part of the Screen interface but are not used in this screen.
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void resume() {
+    }
+
+    @Override
+    public void hide() {
+    }
+}
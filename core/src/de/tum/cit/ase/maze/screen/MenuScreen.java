@@ -5,7 +5,6 @@
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
@@ -97,7 +96,7 @@ public void changed(ChangeEvent event, Actor actor) {
      */
     private Table getTable() {
         // Create a drawable from the texture
-        TextureRegionDrawable backgroundDrawable = new TextureRegionDrawable(new TextureRegion(new Texture("backgrounds/menu background.png")));
+        TextureRegionDrawable backgroundDrawable = new TextureRegionDrawable(new TextureRegion(game.getMenuBackground()));
 
         Table table = new Table(); // Create a table for layout
 
@@ -0,0 +1,92 @@
+package de.tum.cit.ase.maze.screen;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import de.tum.cit.ase.maze.entity.Entity;
+
+/**
+ * The RenderQueue class draws entities in depth order, each entity exactly once.
+ * Entities further up are behind and drawn first, entities with the same depth keep the order they were added in.
+ * The entities are expected to be added nearly sorted, e.g. row by row from the spatial index,
+ * so the insertion sort only has to move the few entities that are inside the same row.
+ */
+public class RenderQueue {
+
+    private final Array<Entity> entities;
+    private final FloatArray depths; // depth of each entity, read once per frame
+
+    /**
+     * Creates an empty render queue.
+     */
+    public RenderQueue() {
+        this.entities = new Array<>(false, 256, Entity.class); // typed, the sort works on the items array
+        this.depths = new FloatArray(false, 256);
+    }
+
+    /**
+     * Remove all entities, the arrays are kept for the next frame.
+     */
+    public void clear() {
+        entities.clear();
+        depths.clear();
+    }
+
+    /**
+     * Add an entity to the queue.
+     * @param entity the entity
+     */
+    public void add(Entity entity) {
+        entities.add(entity);
+        depths.add(entity.getDepthY());
+    }
+
+    /**
+     * Add all entities of an array to the queue.
+     * @param array the entities
+     */
+    public void addAll(Array<Entity> array) {
+        for (int i = 0; i < array.size; i++) {
+            add(array.get(i));
+        }
+    }
+
+    /**
+     * Sort the entities by depth, from the top to the bottom.
+     * Stable insertion sort, linear for a nearly sorted queue.
+     */
+    public void sort() {
+        Entity[] items = entities.items;
+        float[] keys = depths.items;
+        for (int i = 1; i < entities.size; i++) {
+            Entity entity = items[i];
+            float depth = keys[i];
+            int j = i - 1;
+            while (j >= 0 && keys[j] < depth) {
+                items[j + 1] = items[j];
+                keys[j + 1] = keys[j];
+                j--;
+            }
+            items[j + 1] = entity;
+            keys[j + 1] = depth;
+        }
+    }
+
+    /**
+     * Draw all entities in the order of the queue.
+     * @param batch the sprite batch, that is used to draw
+     */
+    public void draw(SpriteBatch batch) {
+        for (int i = 0; i < entities.size; i++) {
+            entities.get(i).draw(batch);
+        }
+    }
+
+    /**
+     * Get the number of entities in the queue.
+     * @return the number of entities
+     */
+    public int size() {
+        return entities.size;
+    }
+}
@@ -0,0 +1,106 @@
+package de.tum.cit.ase.maze.screen;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import de.tum.cit.ase.maze.MazeRunnerGame;
+
+/**
+ * The SplashScreen class is shown while the assets of the menu are loaded when the game starts.
+ * It only uses the built-in font of libGDX and the shape renderer, so it can be drawn before the skin,
+ * the fonts and the textures of the game are loaded.
+ */
+public class SplashScreen implements Screen {
+
+    private static final float BAR_WIDTH = 400;
+    private static final float BAR_HEIGHT = 20;
+
+    private final MazeRunnerGame game;
+    private final Viewport viewport;
+    private final BitmapFont font;
+    private final GlyphLayout titleLayout;
+
+    /**
+     * Constructor for SplashScreen. Sets up the camera, viewport and the font.
+     * @param game The main game class, used to access global resources and methods.
+     */
+    public SplashScreen(MazeRunnerGame game) {
+        this.game = game;
+        this.viewport = new ScreenViewport(new OrthographicCamera());
+        this.font = new BitmapFont(); // Built-in font, loaded from the libGDX jar
+        this.titleLayout = new GlyphLayout(font, "Loading...");
+    }
+
+    /**
+     * Draws the loading progress of the asset manager.
+     * @param delta The time in seconds since the last render.
+     */
+    @Override
+    public void render(float delta) {
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT); // Clear the screen
+        viewport.apply();
+
+        float centerX = viewport.getWorldWidth() / 2;
+        float centerY = viewport.getWorldHeight() / 2;
+        float barX = centerX - BAR_WIDTH / 2;
+
+        // Progress bar with a frame
+        ShapeRenderer shapeRenderer = game.getShapeRenderer();
+        shapeRenderer.setProjectionMatrix(viewport.getCamera().combined);
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.setColor(Color.GOLD);
+        shapeRenderer.rect(barX, centerY - BAR_HEIGHT / 2, BAR_WIDTH * game.getAssetProgress(), BAR_HEIGHT);
+        shapeRenderer.set(ShapeRenderer.ShapeType.Line);
+        shapeRenderer.rect(barX, centerY - BAR_HEIGHT / 2, BAR_WIDTH, BAR_HEIGHT);
+        shapeRenderer.end();
+
+        // Title above the bar
+        game.getSpriteBatch().setProjectionMatrix(viewport.getCamera().combined);
+        game.getSpriteBatch().begin();
+        font.setColor(Color.GOLD);
+        font.draw(game.getSpriteBatch(), titleLayout, centerX - titleLayout.width / 2, centerY + BAR_HEIGHT * 2);
+        game.getSpriteBatch().end();
+    }
+
+    /**
+     * Updates the viewport on resize.
+     * @param width The new width of the screen.
+     * @param height The new height of the screen.
+     */
+    @Override
+    public void resize(int width, int height) {
+        viewport.update(width, height, true);
+    }
+
+    /**
+     * Disposes of the font when the screen is disposed.
+     */
+    @Override
+    public void dispose() {
+        font.dispose();
+    }
+
+    // The following methods are part of the Screen interface but are not used in this screen.
+    @Override
+    public void show() {
+    }
+
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void resume() {
+    }
+
+    @Override
+    public void hide() {
+    }
+}
@@ -0,0 +1,248 @@
+package de.tum.cit.ase.maze.screen;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+import de.tum.cit.ase.maze.LevelMap;
+import de.tum.cit.ase.maze.MazeRunnerGame;
+import de.tum.cit.ase.maze.entity.Entity;
+
+/**
+ * The TileChunkRenderer class draws the static layers of a level, the floor and the walls with the water.
+ * The layers are baked once per level into SpriteCache blocks of 32 x 32 cells, so their geometry
+ * stays on the GPU, and only the chunks that intersect the camera view are drawn each frame.
+ * The draw cost depends on the visible area instead of the map size.
+ */
+public class TileChunkRenderer implements Disposable {
+
+    // World set up
+    private static final int CELL_WIDTH = 16;
+    private static final int CELL_HEIGHT = 16;
+    private static final int CHUNK_SIZE = 32; // cells per chunk side
+
+    // Most sprites a SpriteCache can hold with indices
+    private static final int CACHE_SIZE = 8191;
+
+    private static final float FLOOR_ALPHA = 0.5f;
+
+    private final MazeRunnerGame game;
+
+    // Caches that hold the chunks, a new cache is started when the chunk doesn't fit anymore
+    private final Array<SpriteCache> caches;
+    private final IntArray cacheSizes;
+
+    // Chunks in row-major order: the cache that holds the chunk and the chunk id in that cache
+    private int[] chunkCaches;
+    private int[] chunkIds;
+    private int chunkColumns;
+    private int chunkRows;
+
+    private ShaderProgram shader; // shared by all caches, created with the first cache
+
+    /**
+     * Creates the renderer without chunks, they are created by build.
+     * @param game the game instance
+     */
+    public TileChunkRenderer(MazeRunnerGame game) {
+        this.game = game;
+        this.caches = new Array<>();
+        this.cacheSizes = new IntArray();
+        this.chunkCaches = new int[0];
+        this.chunkIds = new int[0];
+    }
+
+    /**
+     * Bake the floor and the walls of the level map into chunks, the chunks of the previous level are released.
+     * Has to run on the render thread.
+     * @param levelMap the loaded level map
+     */
+    public void build(LevelMap levelMap) {
+        clear();
+
+        int columns = (int) levelMap.getMapWidth() / CELL_WIDTH;
+        int rows = (int) levelMap.getMapHeight() / CELL_HEIGHT;
+        chunkColumns = (columns + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        chunkRows = (rows + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+        // Sort the walls into their chunks
+        Array<Entity>[] chunkWalls = createChunkArrays(chunkColumns * chunkRows);
+        for (Entity wall: levelMap.getEntities(LevelMap.Type.WALL)) {
+            int col = Math.floorDiv((int) wall.getX(), CELL_WIDTH);
+            int row = Math.floorDiv((int) wall.getY(), CELL_HEIGHT);
+            if (col >= 0 && row >= 0 && col < columns && row < rows) {
+                chunkWalls[(row / CHUNK_SIZE) * chunkColumns + col / CHUNK_SIZE].add(wall);
+            }
+        }
+
+        chunkCaches = new int[chunkColumns * chunkRows];
+        chunkIds = new int[chunkColumns * chunkRows];
+        TextureRegion floorTextureRegion = game.getFloorTextureRegion();
+        for (int chunkRow = 0; chunkRow < chunkRows; chunkRow++) {
+            for (int chunkCol = 0; chunkCol < chunkColumns; chunkCol++) {
+                int chunk = chunkRow * chunkColumns + chunkCol;
+                int startCol = chunkCol * CHUNK_SIZE;
+                int startRow = chunkRow * CHUNK_SIZE;
+                int endCol = Math.min(startCol + CHUNK_SIZE, columns);
+                int endRow = Math.min(startRow + CHUNK_SIZE, rows);
+                Array<Entity> walls = chunkWalls[chunk];
+
+                int cacheIndex = findCache((endCol - startCol) * (endRow - startRow) + walls.size);
+                SpriteCache cache = caches.get(cacheIndex);
+                cache.beginCache();
+
+                // Floor under everything, half transparent like the floor entities were drawn
+                cache.setColor(1, 1, 1, FLOOR_ALPHA);
+                for (int col = startCol; col < endCol; col++) {
+                    for (int row = startRow; row < endRow; row++) {
+                        cache.add(floorTextureRegion, col * CELL_WIDTH, row * CELL_HEIGHT);
+                    }
+                }
+
+                // Walls and water on top
+                cache.setColor(1, 1, 1, 1);
+                for (Entity wall: walls) {
+                    TextureRegion textureRegion = wall.getTextureRegion();
+                    cache.add(textureRegion, wall.getX(), wall.getY(),
+                            textureRegion.getRegionWidth(), textureRegion.getRegionHeight());
+                }
+
+                chunkCaches[chunk] = cacheIndex;
+                chunkIds[chunk] = cache.endCache();
+            }
+        }
+    }
+
+    /**
+     * Draw the chunks that intersect the camera view.
+     * Only the chunk columns and rows in the view are visited, row by row. The chunks were added to the caches
+     * in the same order, so each cache is begun at most once per frame.
+     * Has to be called outside of SpriteBatch.begin and end.
+     * @param camera the updated camera
+     */
+    public void draw(OrthographicCamera camera) {
+        if (chunkIds.length == 0) {
+            return; // nothing built
+        }
+        Gdx.gl.glEnable(GL20.GL_BLEND); // SpriteCache doesn't enable blending itself
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+
+        // Chunk range of the view, the camera isn't rotated
+        float chunkWidth = CHUNK_SIZE * CELL_WIDTH;
+        float chunkHeight = CHUNK_SIZE * CELL_HEIGHT;
+        float halfViewWidth = camera.viewportWidth * camera.zoom / 2;
+        float halfViewHeight = camera.viewportHeight * camera.zoom / 2;
+        int startChunkCol = Math.max(0, (int) Math.floor((camera.position.x - halfViewWidth) / chunkWidth));
+        int endChunkCol = Math.min(chunkColumns - 1,
+                (int) Math.floor((camera.position.x + halfViewWidth) / chunkWidth));
+        int startChunkRow = Math.max(0, (int) Math.floor((camera.position.y - halfViewHeight) / chunkHeight));
+        int endChunkRow = Math.min(chunkRows - 1,
+                (int) Math.floor((camera.position.y + halfViewHeight) / chunkHeight));
+
+        SpriteCache cache = null;
+        int cacheIndex = -1;
+        for (int chunkRow = startChunkRow; chunkRow <= endChunkRow; chunkRow++) {
+            for (int chunkCol = startChunkCol; chunkCol <= endChunkCol; chunkCol++) {
+                int chunk = chunkRow * chunkColumns + chunkCol;
+                if (chunkCaches[chunk] != cacheIndex) {
+                    if (cache != null) {
+                        cache.end();
+                    }
+                    cacheIndex = chunkCaches[chunk];
+                    cache = caches.get(cacheIndex);
+                    cache.setProjectionMatrix(camera.combined);
+                    cache.begin();
+                }
+                cache.draw(chunkIds[chunk]);
+            }
+        }
+        if (cache != null) {
+            cache.end();
+        }
+    }
+
+    /**
+     * Find a cache with space for the sprites of a chunk, or start a new one.
+     * @param sprites the number of sprites of the chunk
+     * @return the index of the cache
+     */
+    private int findCache(int sprites) {
+        int last = caches.size - 1;
+        if (last >= 0 && cacheSizes.get(last) + sprites <= CACHE_SIZE) {
+            cacheSizes.incr(last, sprites);
+            return last;
+        }
+        if (sprites > CACHE_SIZE) {
+            throw new IllegalStateException("Chunk has too many sprites: " + sprites);
+        }
+        if (shader == null) {
+            shader = createShader();
+        }
+        // No own shader, SpriteCache disposes the shader it was created with, the shared one is set instead
+        SpriteCache cache = new SpriteCache(CACHE_SIZE, null, true);
+        cache.setShader(shader);
+        caches.add(cache);
+        cacheSizes.add(sprites);
+        return caches.size - 1;
+    }
+
+    /**
+     * Create the shader that all caches share, so it is compiled once instead of once per cache.
+     * SpriteCache sets u_proj and u_trans on a shader that isn't its own, the sprite shader only uses u_projTrans.
+     * Their locations are fetched once without the check for missing uniforms, so SpriteCache doesn't fail on them.
+     * @return the shader
+     */
+    private static ShaderProgram createShader() {
+        ShaderProgram shader = SpriteBatch.createDefaultShader();
+        shader.fetchUniformLocation("u_proj", false);
+        shader.fetchUniformLocation("u_trans", false);
+        return shader;
+    }
+
+    /**
+     * Create one empty array for the walls of each chunk.
+     * @param count the number of chunks
+     * @return the arrays
+     */
+    @SuppressWarnings("unchecked")
+    private static Array<Entity>[] createChunkArrays(int count) {
+        Array<Entity>[] arrays = (Array<Entity>[]) new Array<?>[count];
+        for (int i = 0; i < count; i++) {
+            arrays[i] = new Array<>(false, 16);
+        }
+        return arrays;
+    }
+
+    /**
+     * Release the caches of the current level.
+     */
+    private void clear() {
+        for (SpriteCache cache: caches) {
+            cache.dispose();
+        }
+        caches.clear();
+        cacheSizes.clear();
+        chunkCaches = new int[0];
+        chunkIds = new int[0];
+        chunkColumns = 0;
+        chunkRows = 0;
+    }
+
+    /**
+     * Release the caches and the shader.
+     */
+    @Override
+    public void dispose() {
+        clear();
+        if (shader != null) {
+            shader.dispose();
+            shader = null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.math.Rectangle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the EnemyStore class, the hit boxes of the enemies are found through the cells of the map.
+ * An enemy at (x, y) has the hit box from x + 1 to x + 15, the cells are 16 pixels large.
+ */
+public class EnemyStoreTest {
+
+    private static final int COLUMNS = 8;
+    private static final int ROWS = 8;
+
+    private EnemyStore enemyStore;
+
+    @BeforeEach
+    public void setUp() {
+        enemyStore = new EnemyStore();
+    }
+
+    @Test
+    public void findOverlappingHitsEnemyInNextCell() {
+        enemyStore.add(32, 32); // cell (2, 2), hit box from 33 to 47
+        enemyStore.buildCells(COLUMNS, ROWS);
+
+        // The rectangle starts in cell (1, 2) and reaches just over the border
+        assertEquals(0, enemyStore.findOverlapping(new Rectangle(20, 34, 13.5f, 8)));
+        // and from below, in cell (2, 1)
+        assertEquals(0, enemyStore.findOverlapping(new Rectangle(34, 20, 8, 13.5f)));
+    }
+
+    @Test
+    public void findOverlappingMissesEnemyInNextCell() {
+        enemyStore.add(32, 32);
+        enemyStore.buildCells(COLUMNS, ROWS);
+
+        // The rectangle ends just before the hit box
+        assertEquals(-1, enemyStore.findOverlapping(new Rectangle(20, 34, 12.5f, 8)));
+        assertEquals(-1, enemyStore.findOverlapping(new Rectangle(34, 20, 8, 12.5f)));
+    }
+
+    @Test
+    public void findOverlappingHitsEnemyReachingIntoCell() {
+        enemyStore.add(20, 20); // cell (1, 1), hit box from 21 to 35 reaches into cell (2, 2)
+        enemyStore.buildCells(COLUMNS, ROWS);
+
+        assertEquals(0, enemyStore.findOverlapping(new Rectangle(34, 34, 8, 8)));
+        assertEquals(-1, enemyStore.findOverlapping(new Rectangle(35.5f, 34, 8, 8)));
+    }
+
+    @Test
+    public void findOverlappingFollowsMovedEnemy() {
+        enemyStore.add(16, 16);
+        enemyStore.add(96, 96);
+        enemyStore.buildCells(COLUMNS, ROWS);
+        enemyStore.remove(0); // the enemy at (96, 96) moves to index 0
+
+        assertEquals(-1, enemyStore.findOverlapping(new Rectangle(20, 20, 8, 8)));
+        assertEquals(0, enemyStore.findOverlapping(new Rectangle(100, 100, 8, 8)));
+    }
+}
@@ -0,0 +1,86 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.files.FileHandle;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the LevelLoader class, the levels are loaded like in the game:
+ * on the worker thread and handed back on the render thread of a headless application.
+ */
+public class LevelLoaderTest {
+
+    private static final String LEVEL_MAP_PATH = "maps/level-4.properties";
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private static HeadlessApplication application;
+    private static MazeRunnerGame game;
+
+    @BeforeAll
+    public static void setUp() {
+        // Gdx.app runs the callbacks of the loader, Gdx.files and Gdx.audio are needed by the game resources
+        application = new HeadlessApplication(new ApplicationAdapter() { });
+        game = new MazeRunnerGame(null);
+        game.createHeadless();
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        application.exit();
+    }
+
+    @Test
+    public void loadKeepsEnemiesInStoreWhenEnabled() throws Exception {
+        game.setEnemyStoreEnabled(true);
+        LevelMap levelMap = load(Gdx.files.local(LEVEL_MAP_PATH));
+
+        assertNotNull(levelMap.getEnemyStore());
+        assertTrue(levelMap.getEnemyStore().getSize() > 0);
+        assertEquals(0, levelMap.getEntities(LevelMap.Type.ENEMY).size);
+    }
+
+    @Test
+    public void loadCreatesEnemyEntitiesWhenDisabled() throws Exception {
+        game.setEnemyStoreEnabled(false);
+        LevelMap levelMap = load(Gdx.files.local(LEVEL_MAP_PATH));
+
+        assertNull(levelMap.getEnemyStore());
+        assertTrue(levelMap.getEntities(LevelMap.Type.ENEMY).size > 0);
+    }
+
+    /**
+     * Load a level map with a new level loader and wait for the callback on the render thread.
+     * @param fileHandle the map file
+     * @return the loaded level map
+     * @throws Exception when the level map couldn't be loaded in time
+     */
+    private static LevelMap load(FileHandle fileHandle) throws Exception {
+        CompletableFuture<LevelMap> result = new CompletableFuture<>();
+        LevelLoader levelLoader = new LevelLoader(game);
+        try {
+            levelLoader.load(fileHandle, new LevelLoader.Callback() {
+                @Override
+                public void onLevelLoaded(LevelMap levelMap) {
+                    result.complete(levelMap);
+                }
+
+                @Override
+                public void onLevelLoadFailed(FileHandle fileHandle, Exception exception) {
+                    result.completeExceptionally(exception);
+                }
+            });
+            return result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } finally {
+            levelLoader.dispose();
+        }
+    }
+}
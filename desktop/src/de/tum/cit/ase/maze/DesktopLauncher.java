@@ -5,6 +5,8 @@
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 import games.spooky.gdx.nativefilechooser.desktop.DesktopFileChooser;
 
+import java.util.Arrays;
+
 /**
  * The DesktopLauncher class is the entry point for the desktop version of the Maze Runner game.
  * It sets up the game window and launches the game using LibGDX framework.
@@ -12,7 +14,9 @@
 public class DesktopLauncher {
 	/**
 	 * The main method sets up the configuration for the game window and starts the application.
-	 * @param arg Command line arguments (not used in this application).
+	 * @param arg Command line arguments, --profile logs the render calls and texture binds every second,
+	 *            --parallel-enemies updates the enemies of crowded maps on all cores,
+	 *            --enemy-store keeps the enemies in primitive arrays for huge maps.
 	 */
 	public static void main(String[] arg) {
 		// Configuration for the game window
@@ -30,6 +34,10 @@ public static void main(String[] arg) {
 		config.setForegroundFPS(60); // Set the foreground frames per second
 
 		// Launch the game
-		new Lwjgl3Application(new MazeRunnerGame(new DesktopFileChooser()), config);
+		MazeRunnerGame game = new MazeRunnerGame(new DesktopFileChooser());
+		game.setProfiling(Arrays.asList(arg).contains("--profile"));
+		game.setParallelEnemies(Arrays.asList(arg).contains("--parallel-enemies"));
+		game.setEnemyStoreEnabled(Arrays.asList(arg).contains("--enemy-store"));
+		new Lwjgl3Application(game, config);
 	}
 }
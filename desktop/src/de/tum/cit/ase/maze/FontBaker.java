@@ -0,0 +1,152 @@
+package de.tum.cit.ase.maze;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+/**
+ * The FontBaker class rasterizes the magical font at the sizes the game uses into BitmapFont files,
+ * an AngelCode .fnt file per size, so the game loads ready glyphs instead of running FreeType.
+ * All sizes share one page that is only as large as needed, so the game decodes and uploads one small png.
+ * It runs at build time with ./gradlew desktop:bakeFonts, the baked fonts are kept in assets/fonts.
+ */
+public class FontBaker {
+
+	private static final String FONT_FILE = "craft/Magical Font.ttf";
+	private static final String OUTPUT_DIRECTORY = "fonts";
+	private static final String PAGE_NAME = "magical-font";
+	private static final String[] NAMES = {"magical-font-title", "magical-font-button", "magical-font-hud"};
+	private static final int[] SIZES = {120, 40, 11}; // the hud size is about the button font at scale 0.3
+	private static final int PAGE_WIDTH = 1024;
+	private static final int MIN_PAGE_HEIGHT = 256; // higher than the largest glyph
+	private static final int PADDING = 1; // pixels between the glyphs, like the FreeType generator
+
+	/**
+	 * Bakes the title, button and hud font. Has to run in the assets directory.
+	 * @param arg Command line arguments, not used.
+	 */
+	public static void main(String[] arg) {
+		GdxNativesLoader.load(); // Pixmaps without an application
+
+		FreeTypeFontGenerator generator = new FreeTypeFontGenerator(new FileHandle(FONT_FILE));
+		FileHandle directory = new FileHandle(OUTPUT_DIRECTORY);
+
+		// Double the page height until all sizes fit on one page, or use more pages of the full size
+		for (int pageHeight = MIN_PAGE_HEIGHT; ; pageHeight *= 2) {
+			PixmapPacker packer = new PixmapPacker(PAGE_WIDTH, pageHeight, Pixmap.Format.RGBA8888, PADDING, false);
+			BitmapFont.BitmapFontData[] data = new BitmapFont.BitmapFontData[SIZES.length];
+			for (int i = 0; i < SIZES.length; i++) {
+				FreeTypeFontGenerator.FreeTypeFontParameter parameter = new FreeTypeFontGenerator.FreeTypeFontParameter();
+				parameter.size = SIZES[i];
+				parameter.packer = packer; // Keep the pages as pixmaps, no textures are created
+				data[i] = generator.generateData(parameter);
+			}
+
+			if (packer.getPages().size == 1 || pageHeight >= PAGE_WIDTH) {
+				for (int page = 0; page < packer.getPages().size; page++) {
+					PixmapIO.writePNG(directory.child(getPageFileName(page)), packer.getPages().get(page).getPixmap());
+				}
+				for (int i = 0; i < SIZES.length; i++) {
+					directory.child(NAMES[i] + ".fnt").writeString(createFnt(data[i], NAMES[i], SIZES[i], packer),
+							false, "UTF-8");
+					System.out.println("Baked " + NAMES[i] + ", " + SIZES[i] + " px");
+				}
+				System.out.println("Pages: " + packer.getPages().size + " of " + PAGE_WIDTH + " x " + pageHeight);
+				packer.dispose();
+				break;
+			}
+			packer.dispose();
+		}
+		generator.dispose();
+	}
+
+	/**
+	 * Create the content of the .fnt file, the glyph offsets are converted to the top-down offsets of the format.
+	 * @param data the generated font data
+	 * @param name the file name of the baked font without extension
+	 * @param size the font size in pixels
+	 * @param packer the packer with the pages
+	 * @return the text of the .fnt file
+	 */
+	private static String createFnt(BitmapFont.BitmapFontData data, String name, int size, PixmapPacker packer) {
+		StringBuilder builder = new StringBuilder();
+		builder.append("info face=\"").append(name).append("\" size=").append(size)
+				.append(" bold=0 italic=0 charset=\"\" unicode=1 stretchH=100 smooth=1 aa=1")
+				.append(" padding=0,0,0,0 spacing=").append(PADDING).append(',').append(PADDING).append('\n');
+
+		// The base line is read back as the ascent plus the cap height
+		builder.append("common lineHeight=").append((int) data.lineHeight)
+				.append(" base=").append((int) (data.ascent + data.capHeight))
+				.append(" scaleW=").append(packer.getPageWidth()).append(" scaleH=").append(packer.getPageHeight())
+				.append(" pages=").append(packer.getPages().size).append(" packed=0\n");
+		for (int page = 0; page < packer.getPages().size; page++) {
+			builder.append("page id=").append(page)
+					.append(" file=\"").append(getPageFileName(page)).append("\"\n");
+		}
+
+		Array<BitmapFont.Glyph> glyphs = collectGlyphs(data);
+		StringBuilder chars = new StringBuilder();
+		StringBuilder kernings = new StringBuilder();
+		int kerningCount = 0;
+		for (int i = 0; i < glyphs.size; i++) {
+			BitmapFont.Glyph glyph = glyphs.get(i);
+			chars.append("char id=").append(glyph.id)
+					.append(" x=").append(glyph.srcX).append(" y=").append(glyph.srcY)
+					.append(" width=").append(glyph.width).append(" height=").append(glyph.height)
+					.append(" xoffset=").append(glyph.xoffset)
+					.append(" yoffset=").append(-(glyph.height + glyph.yoffset))
+					.append(" xadvance=").append(glyph.xadvance)
+					.append(" page=").append(glyph.page).append(" chnl=0\n");
+
+			for (int j = 0; j < glyphs.size; j++) {
+				BitmapFont.Glyph second = glyphs.get(j);
+				int amount = glyph.getKerning((char) second.id);
+				if (amount != 0) {
+					kerningCount++;
+					kernings.append("kerning first=").append(glyph.id)
+							.append(" second=").append(second.id).append(" amount=").append(amount).append('\n');
+				}
+			}
+		}
+		builder.append("chars count=").append(glyphs.size).append('\n').append(chars);
+		builder.append("kernings count=").append(kerningCount).append('\n').append(kernings);
+		return builder.toString();
+	}
+
+	/**
+	 * Collect the generated glyphs, including the glyph for missing characters.
+	 * @param data the generated font data
+	 * @return the glyphs
+	 */
+	private static Array<BitmapFont.Glyph> collectGlyphs(BitmapFont.BitmapFontData data) {
+		Array<BitmapFont.Glyph> glyphs = new Array<>();
+		for (BitmapFont.Glyph[] page: data.glyphs) {
+			if (page == null) {
+				continue;
+			}
+			for (BitmapFont.Glyph glyph: page) {
+				if (glyph != null) {
+					glyphs.add(glyph);
+				}
+			}
+		}
+		if (data.missingGlyph != null && !glyphs.contains(data.missingGlyph, true)) {
+			glyphs.add(data.missingGlyph);
+		}
+		return glyphs;
+	}
+
+	/**
+	 * Get the file name of a page.
+	 * @param page the page index
+	 * @return the png file name
+	 */
+	private static String getPageFileName(int page) {
+		return page == 0 ? PAGE_NAME + ".png" : PAGE_NAME + "_" + page + ".png";
+	}
+}